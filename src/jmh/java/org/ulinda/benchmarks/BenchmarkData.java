@@ -0,0 +1,88 @@
+package org.ulinda.benchmarks;
+
+import org.ulinda.entities.Field;
+import org.ulinda.enums.FieldType;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Synthetic models and rows shared by the benchmarks.
+ */
+public class BenchmarkData {
+
+    private static final FieldType[] FIELD_TYPES = FieldType.values();
+
+    /**
+     * Fields cycling through every field type, with deterministic ids.
+     */
+    public static List<Field> fields(int count) {
+        List<Field> fields = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Field field = new Field();
+            field.setId(new UUID(0L, i + 1));
+            field.setName("Field " + i);
+            field.setType(FIELD_TYPES[i % FIELD_TYPES.length]);
+            field.setIsRequired(false);
+            field.setIsParentField(i == 0);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * A row as returned by JdbcTemplate.queryForList for the given fields.
+     */
+    public static Map<String, Object> databaseRow(List<Field> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", UUID.randomUUID());
+        row.put("created_at", Timestamp.from(Instant.now()));
+        row.put("updated_at", Timestamp.from(Instant.now()));
+        for (Field field : fields) {
+            row.put(columnName(field), databaseValue(field.getType()));
+        }
+        return row;
+    }
+
+    /**
+     * Field values as sent by API clients (JSON scalars).
+     */
+    public static Map<UUID, Object> apiValues(List<Field> fields) {
+        Map<UUID, Object> values = new HashMap<>();
+        for (Field field : fields) {
+            values.put(field.getId(), apiValue(field.getType()));
+        }
+        return values;
+    }
+
+    public static String columnName(Field field) {
+        return "field_" + field.getId().toString().replace("-", "_");
+    }
+
+    private static Object databaseValue(FieldType type) {
+        return switch (type) {
+            case SINGLE_LINE_TEXT, EMAIL -> "john.smith@example.com";
+            case MULTI_LINE_TEXT -> "Lorem ipsum dolor sit amet, consectetur adipiscing elit";
+            case DECIMAL -> new BigDecimal("12345.6789");
+            case LONG -> 1234567L;
+            case BOOLEAN -> Boolean.TRUE;
+            case DATE -> Date.valueOf("2025-09-17");
+            case DATETIME -> Timestamp.from(Instant.parse("2025-09-17T11:00:00Z"));
+        };
+    }
+
+    private static Object apiValue(FieldType type) {
+        return switch (type) {
+            case SINGLE_LINE_TEXT, EMAIL -> "john.smith@example.com";
+            case MULTI_LINE_TEXT -> "Lorem ipsum dolor sit amet, consectetur adipiscing elit";
+            case DECIMAL -> "12345.6789";
+            case LONG -> 1234567;
+            case BOOLEAN -> true;
+            case DATE -> "2025-09-17";
+            case DATETIME -> "2025-09-17T11:00:00.000Z";
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package org.ulinda.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.ulinda.dto.CursorInfo;
+import org.ulinda.utils.CursorUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cursor encoding and decoding, done for every page of getRecords.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CursorBenchmark {
+
+    private CursorInfo cursorInfo;
+    private String encodedCursor;
+
+    @Setup
+    public void setup() {
+        cursorInfo = new CursorInfo("2025-09-17T11:00:00.123456Z", UUID.randomUUID(), "created_at", "ASC");
+        encodedCursor = CursorUtils.encodeCursor(cursorInfo);
+    }
+
+    @Benchmark
+    public String encode() {
+        return CursorUtils.encodeCursor(cursorInfo);
+    }
+
+    @Benchmark
+    public CursorInfo decode() {
+        return CursorUtils.decodeCursor(encodedCursor);
+    }
+}
@@ -0,0 +1,85 @@
+package org.ulinda.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.ulinda.dto.*;
+import org.ulinda.entities.Field;
+import org.ulinda.utils.RecordValueUtils;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialising a 1000 record getRecords page: the regular response (field values keyed by field UUID per record)
+ * versus the columnar {@link CompactGetRecordsResponse}. Payload sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordPageSerializationBenchmark {
+
+    private static final int RECORDS = 1000;
+
+    @Param({"10", "30"})
+    private int fieldCount;
+
+    private ObjectMapper objectMapper;
+    private GetRecordsResponse response;
+    private CompactGetRecordsResponse compactResponse;
+
+    @Setup
+    public void setup() throws Exception {
+        // Configured like Spring Boot's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<Field> fields = BenchmarkData.fields(fieldCount);
+        Map<String, Object> databaseRow = BenchmarkData.databaseRow(fields);
+        List<RecordDto> records = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            RecordDto record = new RecordDto();
+            record.setId(UUID.randomUUID());
+            record.setCreatedAt(Instant.now());
+            record.setUpdatedAt(Instant.now());
+            Map<UUID, Object> fieldValues = new HashMap<>();
+            for (Field field : fields) {
+                fieldValues.put(field.getId(), RecordValueUtils.convertFromDatabase(databaseRow.get(BenchmarkData.columnName(field)), field.getType()));
+            }
+            record.setFieldValues(fieldValues);
+            records.add(record);
+        }
+        List<FieldDto> fieldDtos = new ArrayList<>();
+        for (Field field : fields) {
+            FieldDto fieldDto = new FieldDto();
+            fieldDto.setId(field.getId());
+            fieldDto.setName(field.getName());
+            fieldDto.setType(field.getType());
+            fieldDtos.add(fieldDto);
+        }
+        response = new GetRecordsResponse();
+        response.setRecords(records);
+        response.setFields(fieldDtos);
+        response.setPagination(new PaginationInfo());
+        compactResponse = new CompactGetRecordsResponse(response, false);
+
+        System.out.printf("%n  payload: regular %d bytes, compact %d bytes%n",
+                objectMapper.writeValueAsBytes(response).length, objectMapper.writeValueAsBytes(compactResponse).length);
+    }
+
+    @Benchmark
+    public byte[] regular() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] compact() throws Exception {
+        return objectMapper.writeValueAsBytes(compactResponse);
+    }
+}
@@ -0,0 +1,78 @@
+package org.ulinda.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.ulinda.dto.SearchFieldIdentifier;
+import org.ulinda.dto.SearchType;
+import org.ulinda.entities.Field;
+import org.ulinda.enums.QueryType;
+import org.ulinda.services.RecordQueryCache;
+import org.ulinda.services.RecordQueryCompiler;
+import org.ulinda.services.RecordQueryKey;
+import org.ulinda.services.RecordQueryTemplate;
+import org.ulinda.services.RecordSearchKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getRecords SQL construction: compiling a query shape versus reusing it from the template cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordQueryCompileBenchmark {
+
+    @Param({"5", "20", "50"})
+    private int fieldCount;
+
+    @Param({"0", "3", "10"})
+    private int searchCount;
+
+    @Param({"ALL_RECORDS", "LINKED_RECORDS"})
+    private QueryType queryType;
+
+    private List<Field> fields;
+    private RecordQueryKey key;
+    private RecordQueryCache cache;
+
+    @Setup
+    public void setup() {
+        fields = BenchmarkData.fields(fieldCount);
+        List<RecordSearchKey> searches = new ArrayList<>();
+        for (int i = 0; i < searchCount; i++) {
+            Field field = fields.get(i % fields.size());
+            searches.add(new RecordSearchKey(SearchFieldIdentifier.CUSTOM_FIELD, field.getId(), searchType(field), false));
+        }
+        boolean linked = queryType != QueryType.ALL_RECORDS;
+        key = new RecordQueryKey(1L, queryType, UUID.randomUUID(), linked ? UUID.randomUUID() : null,
+                linked ? 1 : 0, "created_at", "ASC", true, List.copyOf(searches));
+        cache = new RecordQueryCache(512);
+        cache.getTemplate(key, k -> RecordQueryCompiler.compile(k, fields));
+    }
+
+    @Benchmark
+    public RecordQueryTemplate compile() {
+        return RecordQueryCompiler.compile(key, fields);
+    }
+
+    @Benchmark
+    public RecordQueryTemplate cached() {
+        return cache.getTemplate(key, k -> RecordQueryCompiler.compile(k, fields));
+    }
+
+    private static SearchType searchType(Field field) {
+        return switch (field.getType()) {
+            case SINGLE_LINE_TEXT, MULTI_LINE_TEXT, EMAIL -> SearchType.TEXT_CONTAINS;
+            case DECIMAL -> SearchType.DECIMAL_GREATER_THAN;
+            case LONG -> SearchType.LONG_EQUALS;
+            case BOOLEAN -> SearchType.BOOLEAN_TRUE;
+            case DATE -> SearchType.DATE_AFTER;
+            case DATETIME -> SearchType.DATE_TIME_BETWEEN;
+        };
+    }
+}
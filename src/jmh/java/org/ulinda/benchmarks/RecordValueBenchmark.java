@@ -0,0 +1,53 @@
+package org.ulinda.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ulinda.entities.Field;
+import org.ulinda.utils.RecordValueUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row value conversion: database rows to API values (reads) and API values to bind values (writes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordValueBenchmark {
+
+    @Param({"5", "20", "50"})
+    private int fieldCount;
+
+    private List<Field> fields;
+    private String[] columnNames;
+    private Map<String, Object> databaseRow;
+    private Map<UUID, Object> apiValues;
+
+    @Setup
+    public void setup() {
+        fields = BenchmarkData.fields(fieldCount);
+        columnNames = fields.stream().map(BenchmarkData::columnName).toArray(String[]::new);
+        databaseRow = BenchmarkData.databaseRow(fields);
+        apiValues = BenchmarkData.apiValues(fields);
+    }
+
+    @Benchmark
+    public void convertFromDatabase(Blackhole blackhole) {
+        for (int i = 0; i < columnNames.length; i++) {
+            blackhole.consume(RecordValueUtils.convertFromDatabase(databaseRow.get(columnNames[i]), fields.get(i).getType()));
+        }
+    }
+
+    @Benchmark
+    public void validateAndConvertValue(Blackhole blackhole) {
+        for (Field field : fields) {
+            blackhole.consume(RecordValueUtils.validateAndConvertValue(apiValues.get(field.getId()), field.getType(), field.getName()));
+        }
+    }
+}
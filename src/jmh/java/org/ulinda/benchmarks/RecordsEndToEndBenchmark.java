@@ -0,0 +1,104 @@
+package org.ulinda.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.ulinda.UlindaApplication;
+import org.ulinda.dto.*;
+import org.ulinda.enums.QueryType;
+import org.ulinda.services.ModelService;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getRecords against a real PostgreSQL (Testcontainers, needs Docker), seeded by DemoDataService on startup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordsEndToEndBenchmark {
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private ModelService modelService;
+    private UUID modelId;
+    private GetRecordsRequest firstPageRequest;
+    private GetRecordsRequest nextPageRequest;
+    private GetRecordsRequest searchRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(UlindaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "ULINDA_JWT_SECRET=benchmark-secret-benchmark-secret-benchmark-secret",
+                        "ULINDA_JWT_EXPIRATION=3600000",
+                        "ULINDA_ADMIN_SECRET=benchmark",
+                        "logging.level.root=WARN")
+                .run();
+        modelService = context.getBean(ModelService.class);
+
+        ModelDto employees = modelService.getModels().getModels().stream()
+                .filter(model -> model.getName().equals("Employees"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Demo data not loaded"));
+        modelId = employees.getId();
+        UUID nameFieldId = employees.getFields().get(0).getId();
+
+        firstPageRequest = pageRequest();
+        String cursor = modelService.getRecords(firstPageRequest, modelId).getPagination().getNextCursor();
+        nextPageRequest = pageRequest();
+        nextPageRequest.setCursor(cursor);
+
+        searchRequest = pageRequest();
+        SearchParameter searchParameter = new SearchParameter();
+        searchParameter.setSearchFieldIdentifier(SearchFieldIdentifier.CUSTOM_FIELD);
+        searchParameter.setFieldID(nameFieldId);
+        searchParameter.setSearchType(SearchType.TEXT_CONTAINS);
+        searchParameter.setTextSearchValue("an");
+        searchRequest.getSearchParameters().add(searchParameter);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public GetRecordsResponse firstPage() {
+        return modelService.getRecords(firstPageRequest, modelId);
+    }
+
+    @Benchmark
+    public GetRecordsResponse nextPage() {
+        return modelService.getRecords(nextPageRequest, modelId);
+    }
+
+    @Benchmark
+    public GetRecordsResponse textSearch() {
+        return modelService.getRecords(searchRequest, modelId);
+    }
+
+    private GetRecordsRequest pageRequest() {
+        GetRecordsRequest request = new GetRecordsRequest();
+        request.setQueryType(QueryType.ALL_RECORDS);
+        request.setLimit(50);
+        request.setSortField("created_at");
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package org.ulinda.benchmarks;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.ulinda.UlindaApplication;
+import org.ulinda.dto.GetRecordsRequest;
+import org.ulinda.dto.ModelDto;
+import org.ulinda.enums.QueryType;
+import org.ulinda.services.ModelService;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * getRecords under high concurrency, on a pool of 200 platform threads (Tomcat's default maxThreads)
+ * versus a virtual thread per request. Both share the same Hikari pool, so the comparison shows what the
+ * thread model changes while JDBC is the bottleneck.
+ * The score is requests per second; p50 / p99 request latency is printed after every iteration.
+ * Needs Docker (Testcontainers).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int REQUESTS = 2000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "1000"})
+    public int concurrency;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private ModelService modelService;
+    private UUID modelId;
+    private GetRecordsRequest request;
+    private ExecutorService executor;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(UlindaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                        "ULINDA_JWT_SECRET=benchmark-secret-benchmark-secret-benchmark-secret",
+                        "ULINDA_JWT_EXPIRATION=3600000",
+                        "ULINDA_ADMIN_SECRET=benchmark",
+                        "logging.level.root=WARN")
+                .run();
+        modelService = context.getBean(ModelService.class);
+
+        ModelDto employees = modelService.getModels().getModels().stream()
+                .filter(model -> model.getName().equals("Employees"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Demo data not loaded"));
+        modelId = employees.getId();
+
+        request = new GetRecordsRequest();
+        request.setQueryType(QueryType.ALL_RECORDS);
+        request.setLimit(50);
+        request.setSortField("created_at");
+
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(200);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies() {
+        latencies.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        System.out.printf("  latency p50 = %.1f ms, p99 = %.1f ms, max = %.1f ms%n",
+                latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Issues REQUESTS getRecords calls, at most `concurrency` in flight. A request's latency includes the time
+     * it waits for a thread, as it would waiting in Tomcat's queue.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void getRecords() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            long start = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    modelService.getRecords(request, modelId);
+                } finally {
+                    latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                    inFlight.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
@@ -6,9 +6,11 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jdbc.repository.config.EnableJdbcAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.ulinda.services.StartupService;
 
 @SpringBootApplication
+@EnableScheduling
 @Slf4j
 public class UlindaApplication implements CommandLineRunner {
 
@@ -22,6 +24,7 @@ public class UlindaApplication implements CommandLineRunner {
     @Override
     public void run(String... args) throws Exception {
         startupService.runStartup();
+        startupService.createMissingRecordIndexesInBackground();
         log.info("Loading Demo Data...");
         startupService.loadDemoData();
         log.info("Completed Starting Up Service");
@@ -2,24 +2,42 @@ package org.ulinda.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
 @Slf4j
-public class AsyncConfig implements AsyncConfigurer {
+public class AsyncConfig implements AsyncConfigurer, WebMvcConfigurer {
+
+    // Same switch that moves Tomcat request handling to virtual threads
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${ulinda.index-build.shutdown-wait-seconds:120}")
+    private int indexBuildShutdownWaitSeconds;
 
     /**
      * Custom thread pool for async operations
      */
     @Bean(name = "errorLogExecutor")
     public Executor errorLogExecutor() {
+        if (virtualThreads) {
+            // A virtual thread per task; the concurrency limit blocks submitters instead of queueing without bound
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("error-log-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(5);
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);        // Minimum threads
         executor.setMaxPoolSize(5);         // Maximum threads
@@ -34,6 +52,24 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Runs CREATE INDEX CONCURRENTLY builds (startup backfill, indexes of new fields) one at a time, off the request
+     * threads. On shutdown the running build gets time to finish; a build cut short leaves an invalid index, which
+     * RecordIndexService drops and rebuilds the next time that index is created.
+     */
+    @Bean(name = "indexBuildExecutor")
+    public ThreadPoolTaskExecutor indexBuildExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("index-build-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(indexBuildShutdownWaitSeconds);
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Default async executor
      */
@@ -42,6 +78,19 @@ public class AsyncConfig implements AsyncConfigurer {
         return errorLogExecutor();
     }
 
+    /**
+     * Executor for async MVC requests (streamed exports). Only set with virtual threads enabled,
+     * otherwise Spring MVC keeps its default.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+            executor.setVirtualThreads(true);
+            configurer.setTaskExecutor(executor);
+        }
+    }
+
     /**
      * Handle uncaught exceptions in async methods
      */
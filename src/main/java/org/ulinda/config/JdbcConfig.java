@@ -1,10 +1,33 @@
 package org.ulinda.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jdbc.repository.config.EnableJdbcAuditing;
+import org.ulinda.services.SlowQueryService;
+
+import javax.sql.DataSource;
 
 @Configuration
 @EnableJdbcAuditing
 public class JdbcConfig {
     // This enables @CreatedDate and @LastModifiedDate
+
+    /**
+     * Replaces the auto-configured JdbcTemplate (and with it the one used by the repositories),
+     * so server-prepared executions show up in the metrics and cache stats and slow statements can be logged.
+     */
+    @Bean
+    public StatementStatsJdbcTemplate jdbcTemplate(DataSource dataSource, JdbcProperties properties, SlowQueryService slowQueryService,
+                                                   MeterRegistry meterRegistry) {
+        StatementStatsJdbcTemplate jdbcTemplate = new StatementStatsJdbcTemplate(dataSource, slowQueryService, meterRegistry);
+        JdbcProperties.Template template = properties.getTemplate();
+        jdbcTemplate.setFetchSize(template.getFetchSize());
+        jdbcTemplate.setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            jdbcTemplate.setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+        return jdbcTemplate;
+    }
 }
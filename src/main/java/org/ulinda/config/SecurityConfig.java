@@ -1,5 +1,8 @@
 package org.ulinda.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -14,6 +17,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.ulinda.security.AuthTokenCache;
 import org.ulinda.security.JwtAuthenticationFilter;
 import org.ulinda.security.JwtService;
 import org.ulinda.services.UserService;
@@ -27,10 +31,17 @@ public class SecurityConfig {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final AuthTokenCache authTokenCache;
+    private final MeterRegistry meterRegistry;
+    private final int managementPort;
 
-    public SecurityConfig(JwtService jwtService, UserService userService) {
+    public SecurityConfig(JwtService jwtService, UserService userService, AuthTokenCache authTokenCache, MeterRegistry meterRegistry,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.authTokenCache = authTokenCache;
+        this.meterRegistry = meterRegistry;
+        this.managementPort = managementPort;
     }
 
 
@@ -43,9 +54,17 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Probes cannot log in
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Neither can the Prometheus scraper: open on the management port only, which is not exposed publicly
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Streamed responses (exports) complete on an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(jwtService, userService), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, userService, authTokenCache, meterRegistry), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,83 @@
+package org.ulinda.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGStatement;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.lang.Nullable;
+import org.ulinda.dto.CacheStatsDto;
+import org.ulinda.services.SlowQueryService;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JdbcTemplate that counts prepared statement executions by whether pgjdbc runs them as a named server-side
+ * prepared statement, i.e. the statement text reached prepareThreshold on its connection (ulinda.jdbc.executions,
+ * tagged serverPrepared). Server-prepared executions skip parsing; whether PostgreSQL then uses a generic or
+ * a custom plan is not visible here. A low share means statement texts are not stable, or the per connection
+ * statement cache (preparedStatementCacheQueries) is too small.
+ * Prepared statement queries and updates also pass through the {@link SlowQueryService} (a no-op unless enabled).
+ */
+public class StatementStatsJdbcTemplate extends JdbcTemplate {
+
+    public static final String EXECUTIONS = "ulinda.jdbc.executions";
+
+    private final SlowQueryService slowQueryService;
+    private final Counter serverPrepared;
+    private final Counter notServerPrepared;
+
+    public StatementStatsJdbcTemplate(DataSource dataSource, SlowQueryService slowQueryService, MeterRegistry meterRegistry) {
+        super(dataSource);
+        this.slowQueryService = slowQueryService;
+        this.serverPrepared = executionCounter(meterRegistry, true);
+        this.notServerPrepared = executionCounter(meterRegistry, false);
+    }
+
+    private static Counter executionCounter(MeterRegistry meterRegistry, boolean serverPrepared) {
+        return Counter.builder(EXECUTIONS)
+                .description("Prepared statement executions, by whether they ran as a server-side prepared statement")
+                .tag("serverPrepared", String.valueOf(serverPrepared))
+                .register(meterRegistry);
+    }
+
+    // All query(...) and update(...) variants of JdbcTemplate end up in these two methods
+    @Override
+    public <T> T query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss, ResultSetExtractor<T> rse) {
+        return super.query(slowQueryService.wrap(psc), pss, rse);
+    }
+
+    @Override
+    protected int update(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss) {
+        return super.update(slowQueryService.wrap(psc), pss);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        if (stmt instanceof PreparedStatement && stmt.isWrapperFor(PGStatement.class)) {
+            if (stmt.unwrap(PGStatement.class).isUseServerPrepare()) {
+                serverPrepared.increment();
+            } else {
+                notServerPrepared.increment();
+            }
+        }
+    }
+
+    /**
+     * Same counts as the Micrometer counters: hits are server-prepared executions, misses the other executions.
+     * pgjdbc does not expose the occupancy of its statement cache, so no size is reported.
+     */
+    public CacheStatsDto getStats() {
+        CacheStatsDto stats = new CacheStatsDto();
+        stats.setName("server-prepared-executions");
+        stats.setHits((long) serverPrepared.count());
+        stats.setMisses((long) notServerPrepared.count());
+        return stats;
+    }
+}
@@ -9,9 +9,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.ulinda.config.StatementStatsJdbcTemplate;
 import org.ulinda.dto.*;
 import org.ulinda.entities.ErrorLog;
+import org.ulinda.security.AuthTokenCache;
 import org.ulinda.services.ErrorService;
+import org.ulinda.services.ModelMetadataCache;
+import org.ulinda.services.RecordQueryCache;
+import org.ulinda.services.SlowQueryService;
+import org.ulinda.services.UserPermissionCache;
 import org.ulinda.services.UserService;
 
 import java.util.ArrayList;
@@ -31,6 +37,24 @@ public class AdminController {
     @Autowired
     private ErrorService errorService;
 
+    @Autowired
+    private ModelMetadataCache modelMetadataCache;
+
+    @Autowired
+    private UserPermissionCache userPermissionCache;
+
+    @Autowired
+    private RecordQueryCache recordQueryCache;
+
+    @Autowired
+    private AuthTokenCache authTokenCache;
+
+    @Autowired
+    private StatementStatsJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SlowQueryService slowQueryService;
+
     @GetMapping("/users")
     public ResponseEntity<GetUsersResponse> getUsers() {
         GetUsersResponse response = new GetUsersResponse();
@@ -96,6 +120,32 @@ public class AdminController {
         return ResponseEntity.ok(errorService.getErrorDetail(errorIdentifier));
     }
 
+    @GetMapping("/slow-queries")
+    public ResponseEntity<GetSlowQueriesResponse> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryService.getSlowQueries());
+    }
+
+    @PutMapping("/slow-queries/enabled")
+    public void setSlowQueryLogEnabled(@RequestParam boolean enabled) {
+        slowQueryService.setEnabled(enabled);
+    }
+
+    @DeleteMapping("/slow-queries")
+    public void clearSlowQueries() {
+        slowQueryService.clear();
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<GetCacheStatsResponse> getCacheStats() {
+        GetCacheStatsResponse response = new GetCacheStatsResponse();
+        response.getCaches().add(modelMetadataCache.getStats());
+        response.getCaches().add(userPermissionCache.getStats());
+        response.getCaches().add(recordQueryCache.getStats());
+        response.getCaches().add(authTokenCache.getStats());
+        response.getCaches().add(jdbcTemplate.getStats());
+        return ResponseEntity.ok(response);
+    }
+
     // Helper method to convert ErrorLog to ErrorDto
     private ErrorDto convertToDto(ErrorLog errorLog) {
         ErrorDto dto = new ErrorDto();
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.ulinda.dto.*;
 import org.ulinda.security.AuthenticationHelper;
 import org.ulinda.services.ModelService;
@@ -67,13 +68,27 @@ public class ModelAdminController {
         modelService.updateField(fieldId, updateModelRequest);
     }
 
+    @PutMapping("/fields/{fieldId}/indexed")
+    public void setFieldIndexed(@PathVariable UUID fieldId, @RequestParam boolean indexed) {
+        modelService.setFieldIndexed(fieldId, indexed);
+    }
+
+    @PutMapping("/fields/{fieldId}/searchable")
+    public void setFieldSearchable(@PathVariable UUID fieldId, @RequestParam boolean searchable) {
+        modelService.setFieldSearchable(fieldId, searchable);
+    }
+
     @DeleteMapping("/models/{modelId}")
     public void deleteModel(@PathVariable UUID modelId, @RequestParam(defaultValue = "false") boolean force) {
         modelService.deleteModel(modelId, force);
     }
 
     @GetMapping("/models/link-models")
-    public ResponseEntity<GetModelLinksResponse> getLinkedModels() {
-        return ResponseEntity.ok(modelService.getModelLinks());
+    public ResponseEntity<GetModelLinksResponse> getLinkedModels(WebRequest webRequest) {
+        String eTag = modelService.getModelLinksETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ModelController.metadataResponse(eTag, modelService.getModelLinks());
     }
 }
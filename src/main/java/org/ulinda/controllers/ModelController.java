@@ -3,16 +3,33 @@ package org.ulinda.controllers;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.ulinda.dto.*;
 import org.ulinda.security.AuthenticationHelper;
+import org.ulinda.enums.QueryType;
+import org.ulinda.enums.RecordFileFormat;
 import org.ulinda.services.ModelService;
+import org.ulinda.services.RecordMetrics;
+import org.ulinda.services.RecordQuery;
+import org.ulinda.utils.RecordVersionUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -25,18 +42,45 @@ public class ModelController {
     @Autowired
     private AuthenticationHelper authenticationHelper;
 
+    @Autowired
+    private RecordMetrics recordMetrics;
+
+    // Exports stream for as long as the client reads, so they get their own async timeout instead of the global one
+    @Value("${ulinda.export.timeout-seconds:3600}")
+    private long exportTimeoutSeconds;
+
     @GetMapping("/models")
-    public ResponseEntity<GetModelsResponse> getModels(Authentication authentication) {
+    public ResponseEntity<GetModelsResponse> getModels(Authentication authentication, WebRequest webRequest) {
         UUID userId = authenticationHelper.getUserId(authentication);
+        // Taken before building the response, so a concurrent change can only make the ETag stale, never the body
+        String eTag = modelService.getModelMetadataETag(userId, null);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         GetModelsResponse response = modelService.getModels(userId, true);
-        return ResponseEntity.ok(response);
+        return metadataResponse(eTag, response);
     }
 
     @GetMapping("/models/{modelId}")
-    public ResponseEntity<GetModelResponse> getModel(@PathVariable("modelId") UUID modelId, Authentication authentication) {
+    public ResponseEntity<GetModelResponse> getModel(@PathVariable("modelId") UUID modelId, Authentication authentication, WebRequest webRequest) {
         UUID userId = authenticationHelper.getUserId(authentication);
+        // Checked before a 304 too, a user without access must not learn anything about the model
+        modelService.checkModelViewPermission(userId, modelId);
+        String eTag = modelService.getModelMetadataETag(userId, modelId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         GetModelResponse response = modelService.getModel(modelId, userId, true);
-        return ResponseEntity.ok(response);
+        return metadataResponse(eTag, response);
+    }
+
+    // no-cache lets browsers keep the response but revalidate it every time; Spring Security would send no-store otherwise
+    static <T> ResponseEntity<T> metadataResponse(String eTag, T body) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(body);
     }
 
     @PostMapping("/models/{modelId}/records")
@@ -44,7 +88,8 @@ public class ModelController {
                                              @RequestBody @Valid CreateRecordRequest request,
                                              Authentication authentication) {
         UUID userId = authenticationHelper.getUserId(authentication);
-        UUID recordId = modelService.createRecord(userId, modelId, request.getFieldValues(), true);
+        UUID recordId = recordMetrics.time(RecordMetrics.CREATE_RECORD, modelId,
+                () -> modelService.createRecord(userId, modelId, request.getFieldValues(), true));
         return ResponseEntity.ok(recordId);
     }
 
@@ -52,10 +97,14 @@ public class ModelController {
     public ResponseEntity<RecordDto> updateRecord(@PathVariable UUID recordId,
                                                   @PathVariable UUID modelId,
                                                   @RequestBody @Valid UpdateRecordRequest request,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                   Authentication authentication) {
         UUID userId = authenticationHelper.getUserId(authentication);
-        RecordDto updatedRecord = modelService.updateRecord(userId, modelId, recordId, request.getFieldValues());
-        return ResponseEntity.ok(updatedRecord);
+        Instant expectedUpdatedAt = RecordVersionUtils.parseIfMatch(ifMatch);
+        RecordDto updatedRecord = recordMetrics.time(RecordMetrics.UPDATE_RECORD, modelId,
+                () -> modelService.updateRecord(userId, modelId, recordId, request.getFieldValues(),
+                        request.isIncludeLinkedRecordCounts(), expectedUpdatedAt));
+        return ResponseEntity.ok().eTag(RecordVersionUtils.toETag(updatedRecord.getUpdatedAt())).body(updatedRecord);
     }
 
     @GetMapping("/records/{modelId}/{recordId}")
@@ -64,7 +113,7 @@ public class ModelController {
                                                Authentication authentication) {
         UUID userId = authenticationHelper.getUserId(authentication);
         RecordDto record = modelService.getRecord(userId, modelId, recordId);
-        return ResponseEntity.ok(record);
+        return ResponseEntity.ok().eTag(RecordVersionUtils.toETag(record.getUpdatedAt())).body(record);
     }
 
     @DeleteMapping("/records/{modelId}/{recordId}")
@@ -77,12 +126,56 @@ public class ModelController {
     }
 
     @PostMapping("/models/{modelId}/records/search")
-    public ResponseEntity<GetRecordsResponse> getRecords(
+    public ResponseEntity<?> getRecords(
             @PathVariable UUID modelId,
             @Valid @RequestBody GetRecordsRequest request,
             Authentication authentication) {
         UUID userId = authenticationHelper.getUserId(authentication);
-        GetRecordsResponse response = modelService.getRecords(userId, request, modelId, true);
+        GetRecordsResponse response = recordMetrics.timeGetRecords(modelId, request,
+                () -> modelService.getRecords(userId, request, modelId, true));
+        if (request.isCompact()) {
+            return ResponseEntity.ok(new CompactGetRecordsResponse(response, request.getQueryType() == QueryType.LINKED_RECORDS));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/models/{modelId}/records/export")
+    public ResponseEntity<StreamingResponseBody> exportRecords(
+            @PathVariable UUID modelId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Valid @RequestBody GetRecordsRequest request,
+            Authentication authentication,
+            WebRequest webRequest) {
+        UUID userId = authenticationHelper.getUserId(authentication);
+        RecordFileFormat exportFormat = RecordFileFormat.fromString(format);
+        RecordQuery recordQuery = modelService.prepareRecordExport(userId, request, modelId);
+        // Applies to this request only; a client that stops reading releases its connection and transaction after it
+        WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest().setTimeout(TimeUnit.SECONDS.toMillis(exportTimeoutSeconds));
+        StreamingResponseBody body = outputStream -> modelService.exportRecords(recordQuery, exportFormat, outputStream);
+        String fileName = "records-" + modelId + (exportFormat == RecordFileFormat.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(exportFormat == RecordFileFormat.CSV ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/models/{modelId}/records/import")
+    public ResponseEntity<ImportRecordsResponse> importRecords(
+            @PathVariable UUID modelId,
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body,
+            Authentication authentication) throws IOException {
+        UUID userId = authenticationHelper.getUserId(authentication);
+        ImportRecordsResponse response = modelService.importRecords(userId, modelId, RecordFileFormat.fromString(format), body);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/models/{modelId}/records/batch")
+    public ResponseEntity<BatchRecordsResponse> batchRecords(@PathVariable UUID modelId,
+                                                             @Valid @RequestBody BatchRecordsRequest request,
+                                                             Authentication authentication) {
+        UUID userId = authenticationHelper.getUserId(authentication);
+        BatchRecordsResponse response = modelService.batchRecords(userId, modelId, request);
         return ResponseEntity.ok(response);
     }
 
@@ -95,6 +188,20 @@ public class ModelController {
     @PostMapping("/records/link-records")
     public void linkRecords(@Valid @RequestBody LinkRecordsRequest request, Authentication authentication) {
         UUID userId = authenticationHelper.getUserId(authentication);
-        modelService.linkRecords(userId, request, true);
+        recordMetrics.time(RecordMetrics.LINK_RECORDS, RecordMetrics.linkTags(false), request.getSourceModelId(),
+                () -> modelService.linkRecords(userId, request, true));
+    }
+
+    @PostMapping("/records/link-records/bulk")
+    public ResponseEntity<BulkLinkRecordsResponse> linkRecordsBulk(@Valid @RequestBody BulkLinkRecordsRequest request, Authentication authentication) {
+        UUID userId = authenticationHelper.getUserId(authentication);
+        return ResponseEntity.ok(recordMetrics.time(RecordMetrics.LINK_RECORDS, RecordMetrics.linkTags(true), request.getSourceModelId(),
+                () -> modelService.linkRecordsBulk(userId, request)));
+    }
+
+    @PostMapping("/records/unlink-records/bulk")
+    public ResponseEntity<BulkLinkRecordsResponse> unlinkRecordsBulk(@Valid @RequestBody BulkLinkRecordsRequest request, Authentication authentication) {
+        UUID userId = authenticationHelper.getUserId(authentication);
+        return ResponseEntity.ok(modelService.unlinkRecordsBulk(userId, request));
     }
 }
@@ -0,0 +1,15 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+import org.ulinda.enums.BatchOperationType;
+
+import java.util.UUID;
+
+@Data
+public class BatchOperationResult {
+    private int index; // Position of the operation in the request
+    private BatchOperationType type;
+    private UUID recordId; // Generated id for CREATE
+    private boolean success;
+    private String message;
+}
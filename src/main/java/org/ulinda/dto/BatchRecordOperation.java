@@ -0,0 +1,16 @@
+package org.ulinda.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.ulinda.enums.BatchOperationType;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class BatchRecordOperation {
+    @NotNull
+    private BatchOperationType type;
+    private UUID recordId; // Required for UPDATE and DELETE
+    private Map<UUID, Object> fieldValues; // fieldId -> value, for CREATE and UPDATE
+}
@@ -0,0 +1,17 @@
+package org.ulinda.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchRecordsRequest {
+    @Valid
+    @NotEmpty
+    private List<BatchRecordOperation> operations = new ArrayList<>();
+    private boolean atomic = true; // Apply nothing if any operation fails validation
+    private boolean overrideLinkedModelsError = false; // Delete records even when they are linked
+}
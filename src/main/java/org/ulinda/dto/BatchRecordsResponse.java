@@ -0,0 +1,16 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchRecordsResponse {
+    private boolean applied; // False when an atomic batch was rejected
+    private int createdCount;
+    private int updatedCount;
+    private int deletedCount;
+    private int failedCount;
+    private List<BatchOperationResult> results = new ArrayList<>();
+}
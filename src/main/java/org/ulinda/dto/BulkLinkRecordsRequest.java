@@ -0,0 +1,25 @@
+package org.ulinda.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Links (or unlinks) many records at once. Either give a source record with a list of target records,
+ * or a list of source / target pairs.
+ */
+@Data
+public class BulkLinkRecordsRequest {
+    @NotNull
+    private UUID modelLinkId;
+    @NotNull
+    private UUID sourceModelId;
+    private UUID sourceRecordId;
+    private List<UUID> targetRecordIds = new ArrayList<>();
+    @Valid
+    private List<LinkedRecordPair> pairs = new ArrayList<>();
+}
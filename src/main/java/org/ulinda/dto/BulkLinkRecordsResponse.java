@@ -0,0 +1,9 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkLinkRecordsResponse {
+    private int requestedCount; // Distinct pairs in the request
+    private int changedCount; // Pairs linked, or unlinked, by the request. Pairs that were already in that state are not counted
+}
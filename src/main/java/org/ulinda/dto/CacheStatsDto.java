@@ -0,0 +1,12 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsDto {
+    private String name;
+    private long hits;
+    private long misses;
+    private long version;
+    private long size;
+}
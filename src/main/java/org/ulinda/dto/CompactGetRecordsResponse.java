@@ -0,0 +1,120 @@
+package org.ulinda.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Columnar form of a {@link GetRecordsResponse}, returned when the request sets compact.
+ * Field ids are written once in "columns" and every record is an array of values in that order, instead of
+ * an object keyed by field UUIDs:
+ * <pre>
+ * {"format": "compact", "fields": [...], "pagination": {...},
+ *  "columns": ["id", "createdAt", "updatedAt", ("linkId",) fieldId...],
+ *  "rows": [[id, createdAt, updatedAt, (linkId,) value...], ...]}
+ * </pre>
+ * Null field values are written as null. Linked record counts are not part of record pages and are left out.
+ */
+@JsonSerialize(using = CompactGetRecordsResponse.Serializer.class)
+public class CompactGetRecordsResponse {
+
+    private final GetRecordsResponse response;
+    private final boolean includeLinkId;
+
+    public CompactGetRecordsResponse(GetRecordsResponse response, boolean includeLinkId) {
+        this.response = response;
+        this.includeLinkId = includeLinkId;
+    }
+
+    public static class Serializer extends JsonSerializer<CompactGetRecordsResponse> {
+
+        @Override
+        public void serialize(CompactGetRecordsResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            GetRecordsResponse response = value.response;
+            List<FieldDto> fields = response.getFields();
+            UUID[] fieldIds = new UUID[fields.size()];
+            for (int i = 0; i < fieldIds.length; i++) {
+                fieldIds[i] = fields.get(i).getId();
+            }
+            // Instants are written the way the regular response writes them
+            JsonSerializer<Object> instantSerializer = provider.findValueSerializer(Instant.class);
+
+            gen.writeStartObject();
+            gen.writeStringField("format", "compact");
+            gen.writeFieldName("fields");
+            provider.defaultSerializeValue(fields, gen);
+            gen.writeFieldName("pagination");
+            provider.defaultSerializeValue(response.getPagination(), gen);
+
+            gen.writeArrayFieldStart("columns");
+            gen.writeString("id");
+            gen.writeString("createdAt");
+            gen.writeString("updatedAt");
+            if (value.includeLinkId) {
+                gen.writeString("linkId");
+            }
+            for (UUID fieldId : fieldIds) {
+                gen.writeString(fieldId.toString());
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("rows");
+            for (RecordDto record : response.getRecords()) {
+                gen.writeStartArray();
+                writeUuid(gen, record.getId());
+                writeInstant(gen, record.getCreatedAt(), instantSerializer, provider);
+                writeInstant(gen, record.getUpdatedAt(), instantSerializer, provider);
+                if (value.includeLinkId) {
+                    writeUuid(gen, record.getLinkId());
+                }
+                for (UUID fieldId : fieldIds) {
+                    writeValue(gen, record.getFieldValues().get(fieldId), provider);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+
+        private static void writeUuid(JsonGenerator gen, UUID uuid) throws IOException {
+            if (uuid == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(uuid.toString());
+            }
+        }
+
+        private static void writeInstant(JsonGenerator gen, Instant instant, JsonSerializer<Object> instantSerializer,
+                                         SerializerProvider provider) throws IOException {
+            if (instant == null) {
+                gen.writeNull();
+            } else {
+                instantSerializer.serialize(instant, gen, provider);
+            }
+        }
+
+        // Field values are the types RecordValueUtils.convertFromDatabase produces, anything else goes through Jackson
+        private static void writeValue(JsonGenerator gen, Object value, SerializerProvider provider) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else if (value instanceof String string) {
+                gen.writeString(string);
+            } else if (value instanceof Long number) {
+                gen.writeNumber(number);
+            } else if (value instanceof BigDecimal number) {
+                gen.writeNumber(number);
+            } else if (value instanceof Boolean bool) {
+                gen.writeBoolean(bool);
+            } else {
+                provider.defaultSerializeValue(value, gen);
+            }
+        }
+    }
+}
@@ -19,4 +19,8 @@ public class FieldDto {
     private Boolean isParentField = false;
     @JsonProperty("isRequired")
     private Boolean isRequired = false;
+    @JsonProperty("isIndexed")
+    private Boolean isIndexed = false;
+    @JsonProperty("isSearchable")
+    private Boolean isSearchable = false;
 }
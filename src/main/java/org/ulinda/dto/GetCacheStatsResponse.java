@@ -0,0 +1,11 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class GetCacheStatsResponse {
+    private List<CacheStatsDto> caches = new ArrayList<>();
+}
@@ -3,6 +3,7 @@ package org.ulinda.dto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.ulinda.enums.CountStrategy;
 import org.ulinda.enums.QueryType;
 
 import java.util.ArrayList;
@@ -22,6 +23,9 @@ public class GetRecordsRequest {
     private QueryType queryType;
     private UUID modelLinkId;
     private UUID sourceRecordId;
+    private CountStrategy countStrategy = CountStrategy.EXACT; // Strategy for actualRecordCount
+    private boolean includeFilteredCount = false; // Count all records matching the search (totalEstimate)
+    private boolean compact = false; // Columnar response, see CompactGetRecordsResponse
 }
 
 
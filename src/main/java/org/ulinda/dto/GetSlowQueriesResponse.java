@@ -0,0 +1,13 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class GetSlowQueriesResponse {
+    private boolean enabled;
+    private long thresholdMillis;
+    private List<SlowQueryDto> slowQueries = new ArrayList<>();
+}
@@ -0,0 +1,13 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportRecordsResponse {
+    private long importedCount;
+    private long failedCount;
+    private List<ImportRowError> errors = new ArrayList<>(); // First errors only, see failedCount for the total
+}
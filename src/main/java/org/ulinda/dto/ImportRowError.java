@@ -0,0 +1,9 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportRowError {
+    private long rowNumber; // 1-based data row (CSV header and blank NDJSON lines not counted)
+    private String message;
+}
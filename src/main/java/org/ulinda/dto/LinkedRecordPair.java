@@ -0,0 +1,14 @@
+package org.ulinda.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class LinkedRecordPair {
+    @NotNull
+    private UUID sourceRecordId;
+    @NotNull
+    private UUID targetRecordId;
+}
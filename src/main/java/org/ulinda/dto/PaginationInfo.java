@@ -1,6 +1,8 @@
 package org.ulinda.dto;
 
 import lombok.Data;
+import org.ulinda.enums.CountStrategy;
+
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -16,4 +18,6 @@ public class PaginationInfo {
     private String sortField;
     private String sortOrder;
     private long actualRecordCount;
+    private CountStrategy totalEstimateStrategy;
+    private CountStrategy actualRecordCountStrategy;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.ulinda.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class SlowQueryDto {
+    private UUID id;
+    private Instant timestamp;
+    private String sql; // Parameterised statement text, bind values are not kept
+    private List<String> bindTypes = new ArrayList<>();
+    private long durationMillis;
+    private String plan; // EXPLAIN (ANALYZE, BUFFERS) output, filled in asynchronously for sampled SELECTs
+}
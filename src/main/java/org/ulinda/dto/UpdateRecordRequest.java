@@ -12,4 +12,5 @@ public class UpdateRecordRequest {
     private UUID recordId;
     @NotNull
     private Map<UUID, Object> fieldValues; // fieldId -> value
+    private boolean includeLinkedRecordCounts = false;
 }
@@ -14,6 +14,6 @@ public class CurrentUserToken {
     @Id
     private UUID id;
     private UUID userId;
-    private String currentToken;
+    private byte[] tokenHash; // SHA-256 of the token
     private Instant createdAt;
 }
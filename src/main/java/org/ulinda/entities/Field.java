@@ -56,6 +56,12 @@ public class Field {
     @Column("is_required")
     private Boolean isRequired;
 
+    @Column("is_indexed")
+    private Boolean isIndexed;
+
+    @Column("is_searchable")
+    private Boolean isSearchable;
+
     // Constructor for creating new fields (without ID and timestamps)
     public Field(String name, String description, FieldType type, Boolean isParentField) {
         this.name = name;
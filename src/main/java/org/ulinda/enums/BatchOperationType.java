@@ -0,0 +1,7 @@
+package org.ulinda.enums;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
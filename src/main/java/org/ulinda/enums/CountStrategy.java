@@ -0,0 +1,9 @@
+package org.ulinda.enums;
+
+// How record totals are computed for a getRecords page
+public enum CountStrategy {
+    EXACT,      // SELECT COUNT(*), always correct but scans the table
+    ESTIMATE,   // pg_class.reltuples, as fresh as the last ANALYZE / autovacuum
+    CACHED,     // exact count, reused until its TTL expires
+    NONE        // not computed, reported as -1
+}
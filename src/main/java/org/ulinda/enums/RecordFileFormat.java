@@ -0,0 +1,17 @@
+package org.ulinda.enums;
+
+public enum RecordFileFormat {
+    NDJSON,  // One JSON record per line
+    CSV;
+
+    public static RecordFileFormat fromString(String format) throws IllegalArgumentException {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        return switch (format.trim().toLowerCase()) {
+            case "ndjson" -> NDJSON;
+            case "csv" -> CSV;
+            default -> throw new IllegalArgumentException("Unsupported record format: " + format);
+        };
+    }
+}
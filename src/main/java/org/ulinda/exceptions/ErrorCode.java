@@ -11,5 +11,7 @@ public enum ErrorCode {
     INVALID_LOGIN_CREDENTIALS,
     RECORD_LINKED_TO_MODELS,
     MODEL_HAS_LINKED_RECORDS,
-    PERMISSION_DENIED
+    PERMISSION_DENIED,
+    LINK_LIMIT_EXCEEDED,
+    RECORD_VERSION_CONFLICT
 }
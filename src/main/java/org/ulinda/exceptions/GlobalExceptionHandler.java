@@ -55,6 +55,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    @ExceptionHandler(RecordVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleRecordVersionConflictException(RecordVersionConflictException e) {
+        log.info("Record version conflict: {}", e.getMessage());
+
+        ErrorResponse error = new ErrorResponse();
+        error.setMessage(e.getMessage());
+        error.setShowMessageToUser(e.isShowMessageToUser());
+        error.setErrorCode(e.getErrorCode());
+        error.setTimestamp(Instant.now());
+        error.setErrorIdentifier(UUID.randomUUID());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
         log.warn("Validation exception: ", e);
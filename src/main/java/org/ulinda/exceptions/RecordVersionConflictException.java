@@ -0,0 +1,11 @@
+package org.ulinda.exceptions;
+
+/**
+ * The record was changed by someone else since the client read it (If-Match did not match). Answered with 409.
+ */
+public class RecordVersionConflictException extends FrontendException {
+
+    public RecordVersionConflictException(String message) {
+        super(message, ErrorCode.RECORD_VERSION_CONFLICT, true);
+    }
+}
@@ -1,14 +1,30 @@
 package org.ulinda.repositories;
 
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.ulinda.entities.CurrentUserToken;
 
-import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CurrentUserTokenRepository extends CrudRepository<CurrentUserToken, UUID> {
-    List<CurrentUserToken> findAllByUserId(UUID userId);
+    boolean existsByUserIdAndTokenHash(UUID userId, byte[] tokenHash);
     void deleteAllByUserId(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Stores a token hash. The same token issued twice (same user, same second) is stored once.
+     */
+    @Modifying
+    @Query("INSERT INTO current_user_tokens (user_id, token_hash, created_at) VALUES (:userId, :tokenHash, CURRENT_TIMESTAMP) ON CONFLICT (token_hash) DO NOTHING")
+    void insertIfAbsent(@Param("userId") UUID userId, @Param("tokenHash") byte[] tokenHash);
+
+    /**
+     * Deletes all but the newest tokens of the user in one statement. Returns the number of deleted tokens.
+     */
+    @Modifying
+    @Query("DELETE FROM current_user_tokens WHERE id IN (SELECT id FROM current_user_tokens WHERE user_id = :userId ORDER BY created_at DESC, id OFFSET :keep)")
+    int deleteAllButNewest(@Param("userId") UUID userId, @Param("keep") int keep);
+}
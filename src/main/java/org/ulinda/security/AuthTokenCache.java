@@ -0,0 +1,100 @@
+package org.ulinda.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.ulinda.dto.CacheStatsDto;
+import org.ulinda.utils.LruCache;
+import org.ulinda.utils.TokenHashUtils;
+import org.ulinda.utils.TransactionUtils;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches tokens that passed full validation (signature, current token check, admin lookup),
+ * so authenticated requests need no database trips.
+ * An entry lives for the configured TTL, but never past the token's own expiry.
+ * Entries are keyed by the token's SHA-256 digest, so raw tokens are not kept in memory.
+ * Anything that revokes a user's tokens or changes their admin flag must call {@link #invalidateUser(UUID)}.
+ */
+@Service
+@Slf4j
+public class AuthTokenCache {
+
+    private record Entry(AuthenticatedUser user, long expiresAtMillis) {
+    }
+
+    private final LruCache<String, Entry> entries;
+    private final long ttlMillis;
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AuthTokenCache(@Value("${ulinda.auth-token-cache.max-size:10000}") int maxSize,
+                          @Value("${ulinda.auth-token-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.entries = new LruCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Returns the cached validation result, or null if the token has to be validated again.
+     */
+    public AuthenticatedUser get(String token) {
+        String key = TokenHashUtils.sha256Hex(token);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis() > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.user();
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Version to read before validating a token, and pass to {@link #put}.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Caches a validated token, unless an invalidation happened since loadVersion was read.
+     */
+    public void put(String token, AuthenticatedUser user, Date tokenExpiration, long loadVersion) {
+        long expiresAtMillis = System.currentTimeMillis() + ttlMillis;
+        if (tokenExpiration != null) {
+            expiresAtMillis = Math.min(expiresAtMillis, tokenExpiration.getTime());
+        }
+        if (version.get() == loadVersion) {
+            entries.put(TokenHashUtils.sha256Hex(token), new Entry(user, expiresAtMillis));
+        }
+    }
+
+    /**
+     * Drops all of the user's tokens now and again once the current transaction completes.
+     */
+    public void invalidateUser(UUID userId) {
+        version.incrementAndGet();
+        entries.removeIf((key, entry) -> entry.user().userId().equals(userId));
+        TransactionUtils.runAfterCompletion(() -> {
+            version.incrementAndGet();
+            entries.removeIf((key, entry) -> entry.user().userId().equals(userId));
+        });
+    }
+
+    public CacheStatsDto getStats() {
+        CacheStatsDto stats = new CacheStatsDto();
+        stats.setName("auth-tokens");
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setVersion(version.get());
+        stats.setSize(entries.size());
+        return stats;
+    }
+}
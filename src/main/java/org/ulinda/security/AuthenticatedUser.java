@@ -0,0 +1,9 @@
+package org.ulinda.security;
+
+import java.util.UUID;
+
+/**
+ * The outcome of validating a token: whose it is and whether they are an admin.
+ */
+public record AuthenticatedUser(UUID userId, boolean adminUser) {
+}
@@ -1,6 +1,9 @@
 package org.ulinda.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +19,7 @@ import org.ulinda.services.UserService;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -23,12 +27,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Time spent authenticating a bearer token, tagged by result: cached, validated or rejected
+    private static final String AUTH_TIMER = "ulinda.auth.filter";
+
     private final JwtService jwtService;
     private final UserService userService; // Inject UserService to load roles
+    private final AuthTokenCache authTokenCache;
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserService userService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserService userService, AuthTokenCache authTokenCache, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.authTokenCache = authTokenCache;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -59,9 +70,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        // Tokens validated recently need no parsing or database trips
+        AuthenticatedUser cachedUser = authTokenCache.get(jwt);
+        if (cachedUser != null) {
+            setAuthentication(cachedUser);
+            sample.stop(meterRegistry.timer(AUTH_TIMER, "result", "cached"));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long cacheVersion = authTokenCache.getVersion();
+        String result = "rejected";
         boolean isAuthenticated = false;
+        Date tokenExpiration = null;
         try {
-            userId = jwtService.extractUserId(jwt); // This also validates the token signature
+            Claims claims = jwtService.extractAllClaims(jwt); // This also validates the token signature
+            userId = UUID.fromString(claims.getSubject());
+            tokenExpiration = claims.getExpiration();
             isAuthenticated = true;
         } catch (Exception e) {
             log.error("JWT extraction failed", e);
@@ -84,19 +111,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     }
                 }
 
-                List<GrantedAuthority> authorities = new ArrayList<>();
-                if (isAdmin) {
-                    authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
-                }
-
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                AuthenticatedUser authenticatedUser = new AuthenticatedUser(userId, isAdmin);
+                authTokenCache.put(jwt, authenticatedUser, tokenExpiration, cacheVersion);
+                setAuthentication(authenticatedUser);
+                result = "validated";
             } catch (Exception e) {
                 log.error("Error loading user roles for userId: {}", userId, e);
                 // Don't set authentication if there's an error loading roles
             }
         }
+        sample.stop(meterRegistry.timer(AUTH_TIMER, "result", result));
         filterChain.doFilter(request, response);
     }
+
+    private void setAuthentication(AuthenticatedUser user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (user.adminUser()) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(user.userId(), null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
\ No newline at end of file
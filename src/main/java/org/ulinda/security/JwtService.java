@@ -1,6 +1,7 @@
 package org.ulinda.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,7 @@ public class JwtService {
     private final String secret;
     private final long expiration;
     private final Key key;
+    private final JwtParser parser;
 
 
     public JwtService(@Value("${ULINDA_JWT_SECRET:}") String secret,
@@ -46,6 +48,10 @@ public class JwtService {
         this.secret = secret;
         this.expiration = expirationLong;
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        // The parser is immutable and thread-safe, build it once
+        this.parser = Jwts.parser()
+                .verifyWith((SecretKey) key)
+                .build();
     }
 
     public String generateToken(String userId) {
@@ -74,10 +80,11 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key)
-                .build()
+    /**
+     * Verifies the token signature and expiry, and returns its claims.
+     */
+    public Claims extractAllClaims(String token) {
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -0,0 +1,144 @@
+package org.ulinda.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the number of linked record pairs per model link.
+ * Statement level triggers on each model_links_ table append the number of inserted (or minus deleted) rows of their
+ * transition table to model_link_count_deltas, so counts stay exact for every insert and delete, including cascaded
+ * deletes of records. A count is its model_link_counts base plus the pending deltas.
+ * Deltas are appended rather than added to the single counter row of the model link: an UPDATE of that row would
+ * make every concurrent link / unlink of the model link wait for each other until commit. Inserts take no row locks.
+ * The rollup folds deltas into the base periodically, so reads only sum a short tail.
+ */
+@Service
+@Slf4j
+public class LinkCountService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the counts table and the trigger function. Safe to run on every startup.
+     */
+    public void createLinkCountsTable() {
+        String createSql = """
+            CREATE TABLE IF NOT EXISTS model_link_counts (
+                model_link_id UUID PRIMARY KEY NOT NULL,
+                link_count BIGINT NOT NULL DEFAULT 0,
+
+                CONSTRAINT fk_model_link_counts_model_link_id
+                    FOREIGN KEY (model_link_id) REFERENCES model_links(id) ON DELETE CASCADE
+            );
+        """;
+        jdbcTemplate.execute(createSql);
+
+        // No foreign key: deltas of a deleted model link are simply dropped by the next rollup
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS model_link_count_deltas (
+                model_link_id UUID NOT NULL,
+                delta BIGINT NOT NULL
+            );
+        """);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_model_link_count_deltas_model_link_id ON model_link_count_deltas (model_link_id)");
+
+        String functionSql = """
+            CREATE OR REPLACE FUNCTION model_link_count_update() RETURNS trigger AS $$
+            DECLARE
+                delta BIGINT;
+            BEGIN
+                IF TG_OP = 'INSERT' THEN
+                    SELECT count(*) INTO delta FROM new_rows;
+                ELSE
+                    SELECT -count(*) INTO delta FROM old_rows;
+                END IF;
+                IF delta <> 0 THEN
+                    INSERT INTO model_link_count_deltas (model_link_id, delta) VALUES (TG_ARGV[0]::uuid, delta);
+                END IF;
+                RETURN NULL;
+            END;
+            $$ LANGUAGE plpgsql
+        """;
+        jdbcTemplate.execute(functionSql);
+    }
+
+    /**
+     * Starts counting a model link: seeds its counter from the link table and attaches the triggers.
+     * Runs inside the caller's transaction. The link table is locked against writes while it is counted.
+     */
+    public void createLinkCounter(UUID modelLinkId) {
+        String tableName = linkTableName(modelLinkId);
+        jdbcTemplate.execute("LOCK TABLE " + tableName + " IN SHARE ROW EXCLUSIVE MODE");
+        // Deltas first, in the same order as the rollup locks rows, so a concurrent rollup cannot add them on top
+        jdbcTemplate.update("DELETE FROM model_link_count_deltas WHERE model_link_id = ?", modelLinkId);
+        jdbcTemplate.update("INSERT INTO model_link_counts (model_link_id, link_count) SELECT ?, count(*) FROM " + tableName +
+                " ON CONFLICT (model_link_id) DO UPDATE SET link_count = EXCLUDED.link_count", modelLinkId);
+
+        jdbcTemplate.execute("CREATE TRIGGER trg_" + tableName + "_count_ins AFTER INSERT ON " + tableName +
+                " REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION model_link_count_update('" + modelLinkId + "')");
+        jdbcTemplate.execute("CREATE TRIGGER trg_" + tableName + "_count_del AFTER DELETE ON " + tableName +
+                " REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION model_link_count_update('" + modelLinkId + "')");
+    }
+
+    /**
+     * Attaches counters to model links created before counting existed.
+     */
+    public void createMissingLinkCounters() {
+        List<UUID> modelLinkIds = jdbcTemplate.queryForList(
+                "SELECT id FROM model_links l WHERE NOT EXISTS (SELECT 1 FROM model_link_counts c WHERE c.model_link_id = l.id)", UUID.class);
+        for (UUID modelLinkId : modelLinkIds) {
+            log.info("Creating link counter for model link {}", modelLinkId);
+            createLinkCounter(modelLinkId);
+        }
+    }
+
+    /**
+     * Returns the number of linked record pairs per model link id.
+     */
+    public Map<UUID, Long> getLinkCounts() {
+        Map<UUID, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT c.model_link_id, c.link_count + COALESCE(d.delta, 0) AS link_count FROM model_link_counts c " +
+                "LEFT JOIN (SELECT model_link_id, sum(delta) AS delta FROM model_link_count_deltas GROUP BY model_link_id) d " +
+                "ON d.model_link_id = c.model_link_id", rs -> {
+            counts.put(rs.getObject("model_link_id", UUID.class), rs.getLong("link_count"));
+        });
+        return counts;
+    }
+
+    /**
+     * Folds the pending deltas into the base counts in one statement. Only deltas committed when it starts are
+     * moved, later ones wait for the next run. The base rows are only locked by this job, never by linking.
+     */
+    @Scheduled(initialDelayString = "${ulinda.link-count-rollup.interval-ms:30000}", fixedDelayString = "${ulinda.link-count-rollup.interval-ms:30000}")
+    public void rollupLinkCounts() {
+        int updated = jdbcTemplate.update("""
+            WITH moved AS (
+                DELETE FROM model_link_count_deltas RETURNING model_link_id, delta
+            ), sums AS (
+                SELECT model_link_id, sum(delta) AS delta FROM moved GROUP BY model_link_id
+            )
+            UPDATE model_link_counts c SET link_count = c.link_count + s.delta
+            FROM sums s WHERE c.model_link_id = s.model_link_id
+        """);
+        if (updated > 0) {
+            log.debug("Rolled up link counts of {} model links", updated);
+        }
+    }
+
+    private String linkTableName(UUID modelLinkId) {
+        return "model_links_" + sanitizeIdentifier(modelLinkId.toString());
+    }
+
+    private String sanitizeIdentifier(String identifier) {
+        return identifier.replaceAll("-", "_").replaceAll("[^a-zA-Z0-9_]", "");
+    }
+}
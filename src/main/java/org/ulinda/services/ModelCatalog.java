@@ -0,0 +1,103 @@
+package org.ulinda.services;
+
+import org.ulinda.entities.Field;
+import org.ulinda.entities.Model;
+import org.ulinda.entities.ModelLink;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of all model, field and model link definitions.
+ * The entities are shared between requests, so callers must never modify them.
+ */
+public class ModelCatalog {
+
+    private final long version;
+    private final boolean shared;
+    private final Map<UUID, Model> models = new LinkedHashMap<>();
+    private final Map<UUID, List<Field>> fieldsByModelId = new HashMap<>();
+    private final Map<UUID, Field> fieldsById = new HashMap<>();
+    private final Map<UUID, ModelLink> modelLinks = new LinkedHashMap<>();
+    private final Map<UUID, List<ModelLink>> modelLinksByModelId = new HashMap<>();
+    private final Map<UUID, RecordRowMapper> recordRowMappers = new ConcurrentHashMap<>();
+
+    ModelCatalog(long version, boolean shared, Iterable<Model> models, Iterable<Field> fields, Iterable<ModelLink> modelLinks) {
+        this.version = version;
+        this.shared = shared;
+        for (Model model : models) {
+            this.models.put(model.getId(), model);
+        }
+        for (Field field : fields) {
+            fieldsById.put(field.getId(), field);
+            fieldsByModelId.computeIfAbsent(field.getModelId(), id -> new ArrayList<>()).add(field);
+        }
+        for (ModelLink modelLink : modelLinks) {
+            this.modelLinks.put(modelLink.getId(), modelLink);
+            modelLinksByModelId.computeIfAbsent(modelLink.getModel1Id(), id -> new ArrayList<>()).add(modelLink);
+            if (!modelLink.getModel2Id().equals(modelLink.getModel1Id())) {
+                modelLinksByModelId.computeIfAbsent(modelLink.getModel2Id(), id -> new ArrayList<>()).add(modelLink);
+            }
+        }
+        fieldsByModelId.replaceAll((id, list) -> Collections.unmodifiableList(list));
+        modelLinksByModelId.replaceAll((id, list) -> Collections.unmodifiableList(list));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * False for a catalog loaded inside a transaction that changed the metadata itself.
+     * Such a catalog may contain uncommitted definitions, so nothing derived from it should be cached.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    public Collection<Model> getModels() {
+        return Collections.unmodifiableCollection(models.values());
+    }
+
+    public Collection<ModelLink> getModelLinks() {
+        return Collections.unmodifiableCollection(modelLinks.values());
+    }
+
+    public boolean modelExists(UUID modelId) {
+        return models.containsKey(modelId);
+    }
+
+    public Optional<Model> findModel(UUID modelId) {
+        return Optional.ofNullable(models.get(modelId));
+    }
+
+    public Optional<Field> findField(UUID fieldId) {
+        return Optional.ofNullable(fieldsById.get(fieldId));
+    }
+
+    public Optional<ModelLink> findModelLink(UUID modelLinkId) {
+        return Optional.ofNullable(modelLinks.get(modelLinkId));
+    }
+
+    /**
+     * Returns the fields of the model, or an empty list if the model has none (or does not exist).
+     */
+    public List<Field> getFields(UUID modelId) {
+        return fieldsByModelId.getOrDefault(modelId, Collections.emptyList());
+    }
+
+    /**
+     * Returns all model links where the model appears as either model 1 or model 2.
+     */
+    public List<ModelLink> getModelLinks(UUID modelId) {
+        return modelLinksByModelId.getOrDefault(modelId, Collections.emptyList());
+    }
+
+    /**
+     * Row mapper for single records of the model (id, created_at, updated_at, then all fields; null values left out).
+     * Built on first use and kept for the lifetime of this catalog.
+     */
+    public RecordRowMapper getRecordRowMapper(UUID modelId) {
+        return recordRowMappers.computeIfAbsent(modelId, id -> new RecordRowMapper(getFields(id), false, false));
+    }
+}
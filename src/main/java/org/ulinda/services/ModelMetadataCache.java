@@ -0,0 +1,89 @@
+package org.ulinda.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.ulinda.dto.CacheStatsDto;
+import org.ulinda.repositories.FieldRepository;
+import org.ulinda.repositories.ModelLinkRepository;
+import org.ulinda.repositories.ModelRepository;
+import org.ulinda.utils.TransactionUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide cache of the model catalog (models, fields and model links).
+ * Every change to a model definition must call {@link #invalidate()}, which bumps the catalog version.
+ * The catalog is reloaded lazily on the next read.
+ */
+@Service
+@Slf4j
+public class ModelMetadataCache {
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private ModelLinkRepository modelLinkRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<ModelCatalog> catalog = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ModelCatalog getCatalog() {
+        ModelCatalog current = catalog.get();
+        boolean pendingInvalidation = TransactionSynchronizationManager.hasResource(this);
+        if (current != null && !pendingInvalidation && current.getVersion() == version.get()) {
+            hits.increment();
+            return current;
+        }
+
+        misses.increment();
+        long loadVersion = version.get();
+        ModelCatalog loaded = new ModelCatalog(loadVersion, !pendingInvalidation, modelRepository.findAll(), fieldRepository.findAll(), modelLinkRepository.findAll());
+        log.debug("Loaded model catalog version {}", loadVersion);
+
+        // A transaction that changed the catalog sees its own uncommitted changes, never share them
+        if (!pendingInvalidation && version.get() == loadVersion) {
+            catalog.set(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Invalidates the catalog now and again once the current transaction completes,
+     * so other requests never cache metadata that is not committed yet.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionUtils.runAfterCompletion(() -> {
+                TransactionSynchronizationManager.unbindResourceIfPossible(this);
+                version.incrementAndGet();
+            });
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public CacheStatsDto getStats() {
+        CacheStatsDto stats = new CacheStatsDto();
+        stats.setName("model-metadata");
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setVersion(version.get());
+        ModelCatalog current = catalog.get();
+        stats.setSize(current != null ? current.getModels().size() : 0);
+        return stats;
+    }
+}
@@ -1,30 +1,56 @@
 package org.ulinda.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.ulinda.dto.*;
 import org.ulinda.entities.Field;
 import org.ulinda.entities.Model;
 import org.ulinda.entities.ModelLink;
+import org.ulinda.enums.BatchOperationType;
+import org.ulinda.enums.CountStrategy;
+import org.ulinda.enums.RecordFileFormat;
 import org.ulinda.enums.FieldType;
 import org.ulinda.enums.ModelPermission;
 import org.ulinda.enums.QueryType;
-import org.ulinda.enums.SearchFieldType;
 import org.ulinda.exceptions.ErrorCode;
 import org.ulinda.exceptions.FrontendException;
+import org.ulinda.exceptions.RecordVersionConflictException;
 import org.ulinda.repositories.FieldRepository;
 import org.ulinda.repositories.ModelLinkRepository;
 import org.ulinda.repositories.ModelRepository;
 
+import java.io.*;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.*;
 import org.ulinda.dto.CursorInfo;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.ulinda.utils.CsvUtils;
 import org.ulinda.utils.CursorUtils;
+import org.ulinda.utils.RecordValueUtils;
+import org.ulinda.utils.TransactionUtils;
 
 @Service
 @Slf4j
@@ -41,8 +67,53 @@ public class ModelService {
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ModelMetadataCache modelMetadataCache;
+
+    @Autowired
+    private UserPermissionCache userPermissionCache;
+
+    @Autowired
+    private RecordQueryCache recordQueryCache;
+
+    @Autowired
+    private RecordCountService recordCountService;
+
     @Autowired
-    private UserService userService;
+    private RecordIndexService recordIndexService;
+
+    @Autowired
+    private LinkCountService linkCountService;
+
+    @Autowired
+    private RecordMetrics recordMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("indexBuildExecutor")
+    private TaskExecutor indexBuildExecutor;
+
+    // Rows fetched per round trip when streaming exports
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    // Characters of COPY data sent per write when importing
+    private static final int IMPORT_BUFFER_SIZE = 64 * 1024;
+
+    // Row errors returned in an import response
+    private static final int MAX_IMPORT_ERRORS = 1000;
+
+    // Operations accepted in one batch request
+    private static final int MAX_BATCH_OPERATIONS = 10000;
+    private static final int MAX_BULK_LINK_PAIRS = 10000;
+
+    // Catalog and permission versions restart from 0, so metadata ETags also carry an id of this start
+    private final String metadataETagPrefix = UUID.randomUUID().toString();
 
     @Transactional
     public void createModel(CreateModelRequest request, UUID ownerId) {
@@ -63,6 +134,8 @@ public class ModelService {
             field.setName(fieldDto.getName());
             field.setIsParentField(fieldDto.getIsParentField());
             field.setIsRequired(fieldDto.getIsRequired());
+            field.setIsIndexed(Boolean.TRUE.equals(fieldDto.getIsIndexed()));
+            field.setIsSearchable(resolveSearchable(fieldDto));
             field.setType(fieldDto.getType());
             field.setModelId(modelId);
             fieldRepository.save(field);
@@ -70,6 +143,7 @@ public class ModelService {
 
         createFieldTables(request, modelId);
 
+        modelMetadataCache.invalidate();
     }
 
     private void createFieldTables(CreateModelRequest request, UUID modelId) {
@@ -108,6 +182,17 @@ public class ModelService {
 
         log.debug("Creating table with SQL: {}", createTableSql.toString());
         jdbcTemplate.execute(createTableSql.toString());
+
+        // The table is new and empty, so the indexes can be built inside the transaction
+        recordIndexService.createDefaultIndexes(modelId);
+        for (Field field : savedFields) {
+            if (Boolean.TRUE.equals(field.getIsIndexed())) {
+                recordIndexService.createFieldIndex(modelId, field.getId());
+            }
+            if (Boolean.TRUE.equals(field.getIsSearchable())) {
+                recordIndexService.createSearchIndex(modelId, field.getId());
+            }
+        }
     }
 
     private String sanitizeIdentifier(String identifier) {
@@ -140,7 +225,8 @@ public class ModelService {
     @Transactional(readOnly = true)
     public GetModelsResponse getModels(UUID userId, boolean doPermissionsCheck) {
         GetModelsResponse response = new GetModelsResponse();
-        for(Model model: modelRepository.findAll()) {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        for(Model model: catalog.getModels()) {
             if (doPermissionsCheck) {
                 if (!userHasGivenPermissionOnModel(userId, model.getId(), ModelPermission.VIEW_RECORDS)) {
                     continue;
@@ -153,7 +239,7 @@ public class ModelService {
             response.getModels().add(modelDto);
 
             //Get Field Info
-            List<Field> fieldOptional = fieldRepository.findByModelId(model.getId());
+            List<Field> fieldOptional = catalog.getFields(model.getId());
             for (Field field: fieldOptional) {
                 FieldDto fieldDto = new FieldDto();
                 fieldDto.setId(field.getId());
@@ -162,27 +248,49 @@ public class ModelService {
                 fieldDto.setType(field.getType());
                 fieldDto.setIsParentField(field.getIsParentField());
                 fieldDto.setIsRequired(field.getIsRequired());
+                fieldDto.setIsIndexed(Boolean.TRUE.equals(field.getIsIndexed()));
+                fieldDto.setIsSearchable(Boolean.TRUE.equals(field.getIsSearchable()));
                 modelDto.getFields().add(fieldDto);
             }
         }
         return response;
     }
 
+    /**
+     * ETag of the model metadata as the user sees it (getModels, or getModel when modelId is given). It changes whenever
+     * a model, field or model link changes (catalog version) or any user's permissions change (permission version),
+     * and on restart. The user id is part of it because responses are filtered by permissions.
+     * Weak, because Tomcat does not compress responses with a strong ETag.
+     */
+    public String getModelMetadataETag(UUID userId, UUID modelId) {
+        return "W/\"" + metadataETagPrefix + "-" + modelMetadataCache.getVersion() + "-" + userPermissionCache.getVersion() + "-" + userId
+                + (modelId != null ? "-" + modelId : "") + "\"";
+    }
+
+    /**
+     * Weak ETag of getModelLinks, which only depends on the catalog.
+     */
+    public String getModelLinksETag() {
+        return "W/\"" + metadataETagPrefix + "-" + modelMetadataCache.getVersion() + "\"";
+    }
+
+    /**
+     * Throws PERMISSION_DENIED unless the model exists and the user may view its records.
+     * A missing model gets the same answer, so its existence cannot be probed.
+     */
+    public void checkModelViewPermission(UUID userId, UUID modelId) {
+        if (!modelMetadataCache.getCatalog().modelExists(modelId)
+                || !userHasGivenPermissionOnModel(userId, modelId, ModelPermission.VIEW_RECORDS)) {
+            log.error("User does not have permission to view records for model: " + modelId);
+            throw new FrontendException("VIEW permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
+    }
+
     private boolean userHasGivenPermissionOnModel(UUID userId, UUID modelId, ModelPermission checkPermission) {
-        Model model = modelRepository.findById(modelId).orElseThrow(() -> new RuntimeException("Model with id " + modelId + " does not exist"));
-        boolean hasPermission = false;
-        GetUserResponse user = userService.getUser(userId);
-        GetUserModelPermissionsResponse userPermissions = userService.getUserModelPermissions(userId);
-        if (user.isAdminUser()) {
-            hasPermission = true;
-        } else {
-            for (UserModelPermissionDto permission : userPermissions.getUserModelPermissions()) {
-                if (permission.getModelId().equals(model.getId()) && permission.getPermission() == checkPermission) {
-                    hasPermission = true;
-                }
-            }
+        if (!modelMetadataCache.getCatalog().modelExists(modelId)) {
+            throw new RuntimeException("Model with id " + modelId + " does not exist");
         }
-        return hasPermission;
+        return userPermissionCache.getPermissions(userId).hasPermission(modelId, checkPermission);
     }
 
     @Transactional(readOnly = true)
@@ -193,7 +301,8 @@ public class ModelService {
     @Transactional(readOnly = true)
     public GetModelResponse getModel(UUID modelId, UUID userId, boolean doPermissionsCheck) {
         GetModelResponse response = new GetModelResponse();
-        Model model = modelRepository.findById(modelId).orElseThrow(() -> new RuntimeException("Model not found: " + modelId));
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        Model model = catalog.findModel(modelId).orElseThrow(() -> new RuntimeException("Model not found: " + modelId));
 
         if (doPermissionsCheck) {
             boolean hasPermission = userHasGivenPermissionOnModel(userId, model.getId(), ModelPermission.VIEW_RECORDS);
@@ -210,7 +319,7 @@ public class ModelService {
         response.setModel(modelDto);
 
         //Get Field Info
-        List<Field> fieldOptional = fieldRepository.findByModelId(model.getId());
+        List<Field> fieldOptional = catalog.getFields(model.getId());
         for (Field field: fieldOptional) {
             FieldDto fieldDto = new FieldDto();
             fieldDto.setId(field.getId());
@@ -219,13 +328,15 @@ public class ModelService {
             fieldDto.setType(field.getType());
             fieldDto.setIsParentField(field.getIsParentField());
             fieldDto.setIsRequired(field.getIsRequired());
+            fieldDto.setIsIndexed(Boolean.TRUE.equals(field.getIsIndexed()));
+            fieldDto.setIsSearchable(Boolean.TRUE.equals(field.getIsSearchable()));
             modelDto.getFields().add(fieldDto);
         }
 
-        List<ModelLink> modelLinks = modelLinkRepository.findByEitherModelId(modelId);
+        List<ModelLink> modelLinks = catalog.getModelLinks(modelId);
         for (ModelLink modelLink: modelLinks) {
             if (modelId.equals(modelLink.getModel1Id())) {
-                Model targetModel = modelRepository.findById(modelLink.getModel2Id()).orElseThrow(() -> new RuntimeException("Model not found: " + modelLink.getModel2Id()));
+                Model targetModel = catalog.findModel(modelLink.getModel2Id()).orElseThrow(() -> new RuntimeException("Model not found: " + modelLink.getModel2Id()));
                 ModelLinkTarget modelLinkTarget = new ModelLinkTarget();
                 modelLinkTarget.setTargetModelId(modelLink.getModel2Id());
                 modelLinkTarget.setCan_have_unlimited_targets(modelLink.isModel1CanHaveUnlimitedModel2s());
@@ -236,7 +347,7 @@ public class ModelService {
                     response.getModelLinkTargets().add(modelLinkTarget);
                 }
             } else if (modelId.equals(modelLink.getModel2Id())) {
-                Model targetModel = modelRepository.findById(modelLink.getModel1Id()).orElseThrow(() -> new RuntimeException("Model not found: " + modelLink.getModel2Id()));
+                Model targetModel = catalog.findModel(modelLink.getModel1Id()).orElseThrow(() -> new RuntimeException("Model not found: " + modelLink.getModel2Id()));
                 ModelLinkTarget modelLinkTarget = new ModelLinkTarget();
                 modelLinkTarget.setTargetModelId(modelLink.getModel1Id());
                 modelLinkTarget.setCan_have_unlimited_targets(modelLink.isModel2CanHaveUnlimitedModel1s());
@@ -261,8 +372,10 @@ public class ModelService {
 
     @Transactional
     public UUID createRecord(UUID userId , UUID modelId, Map<UUID, Object> fieldValues, boolean doPermissionsCheck) {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+
         // Validate model exists
-        if (!modelRepository.existsById(modelId)) {
+        if (!catalog.modelExists(modelId)) {
             throw new IllegalArgumentException("Model not found: " + modelId);
         }
 
@@ -275,7 +388,7 @@ public class ModelService {
         }
 
         // Get fields for validation and column mapping
-        List<Field> fields = fieldRepository.findByModelId(modelId);
+        List<Field> fields = catalog.getFields(modelId);
         if (fields.isEmpty()) {
             throw new IllegalStateException("No fields found for model: " + modelId);
         }
@@ -300,7 +413,7 @@ public class ModelService {
                 Object value = fieldValues.get(fieldId);
 
                 // Validate and convert value based on field type
-                Object convertedValue = validateAndConvertValue(value, field.getType(), field.getName());
+                Object convertedValue = RecordValueUtils.validateAndConvertValue(value, field.getType(), field.getName());
 
                 if (!first) {
                     columnNames.append(", ");
@@ -336,17 +449,433 @@ public class ModelService {
         return recordId;
     }
 
+    /**
+     * Bulk loads records with COPY FROM STDIN. Each row is validated with the same rules as createRecord.
+     * Invalid rows are skipped and reported, valid rows are streamed to PostgreSQL while the input is read.
+     * A row rejected by the database itself aborts the whole import.
+     */
+    @Transactional
+    public ImportRecordsResponse importRecords(UUID userId, UUID modelId, RecordFileFormat format, InputStream inputStream) throws IOException {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+
+        // Validate model exists
+        if (!catalog.modelExists(modelId)) {
+            throw new IllegalArgumentException("Model not found: " + modelId);
+        }
+
+        if (!userHasGivenPermissionOnModel(userId, modelId, ModelPermission.ADD_RECORDS)) {
+            log.error("User with ID: " + userId + " does not have permission to add records for model: " + modelId);
+            throw new FrontendException("ADD RECORDS permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
+
+        List<Field> fields = catalog.getFields(modelId);
+        if (fields.isEmpty()) {
+            throw new IllegalStateException("No fields found for model: " + modelId);
+        }
+
+        String tableName = "records_" + sanitizeIdentifier(modelId.toString());
+
+        // id, created_at and updated_at are filled in by their column defaults
+        StringBuilder copySql = new StringBuilder();
+        copySql.append("COPY ");
+        appendQuotedIdentifier(copySql, tableName);
+        copySql.append(" (");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                copySql.append(", ");
+            }
+            appendQuotedIdentifier(copySql, "field_" + sanitizeIdentifier(fields.get(i).getId().toString()));
+        }
+        copySql.append(") FROM STDIN (FORMAT csv)");
+
+        ImportRecordsResponse response = new ImportRecordsResponse();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        Long importedCount;
+        try {
+            importedCount = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql.toString());
+                try {
+                    StringBuilder buffer = new StringBuilder(IMPORT_BUFFER_SIZE + 1024);
+                    long rowNumber = 0;
+                    if (format == RecordFileFormat.CSV) {
+                        List<String> header = CsvUtils.readRow(reader);
+                        Field[] columns = header != null ? resolveImportColumns(header, fields) : new Field[0];
+                        List<String> row;
+                        while ((row = CsvUtils.readRow(reader)) != null) {
+                            if (row.size() == 1 && row.get(0).isEmpty()) {
+                                continue;
+                            }
+                            rowNumber++;
+                            if (row.size() != columns.length) {
+                                addImportError(response, rowNumber, "Expected " + columns.length + " columns but found " + row.size());
+                                continue;
+                            }
+                            Map<UUID, Object> fieldValues = new HashMap<>();
+                            for (int i = 0; i < columns.length; i++) {
+                                if (columns[i] != null) {
+                                    fieldValues.put(columns[i].getId(), row.get(i).isEmpty() ? null : row.get(i));
+                                }
+                            }
+                            appendImportRow(buffer, fieldValues, fields, response, rowNumber);
+                            flushImportBuffer(copyIn, buffer, false);
+                        }
+                    } else {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (line.isBlank()) {
+                                continue;
+                            }
+                            rowNumber++;
+                            Map<UUID, Object> fieldValues;
+                            try {
+                                fieldValues = objectMapper.readValue(line, CreateRecordRequest.class).getFieldValues();
+                            } catch (JsonProcessingException e) {
+                                addImportError(response, rowNumber, "Invalid JSON: " + e.getOriginalMessage());
+                                continue;
+                            }
+                            appendImportRow(buffer, fieldValues, fields, response, rowNumber);
+                            flushImportBuffer(copyIn, buffer, false);
+                        }
+                    }
+                    flushImportBuffer(copyIn, buffer, true);
+                    return copyIn.endCopy();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (DataAccessException e) {
+            log.error("Import into model {} failed: {}", modelId, e.getMessage());
+            throw new FrontendException("Import failed, no records were imported: " + e.getMostSpecificCause().getMessage(), ErrorCode.VALIDATION_EXCEPTION, e, true);
+        }
+
+        recordCountService.evict(tableName);
+        response.setImportedCount(importedCount != null ? importedCount : 0L);
+        log.debug("Imported {} records into table {}, {} rows failed", response.getImportedCount(), tableName, response.getFailedCount());
+        return response;
+    }
+
+    // Maps CSV header cells to fields by field id or name. System columns are ignored (null).
+    private Field[] resolveImportColumns(List<String> header, List<Field> fields) {
+        Field[] columns = new Field[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (name.equals("id") || name.equals("created_at") || name.equals("updated_at")) {
+                continue;
+            }
+            for (Field field : fields) {
+                if (field.getId().toString().equalsIgnoreCase(name) || field.getName().equals(name)) {
+                    columns[i] = field;
+                    break;
+                }
+            }
+            if (columns[i] == null) {
+                throw new FrontendException("Unknown column in CSV header: " + name, ErrorCode.VALIDATION_EXCEPTION, true);
+            }
+        }
+        return columns;
+    }
+
+    private void appendImportRow(StringBuilder buffer, Map<UUID, Object> fieldValues, List<Field> fields, ImportRecordsResponse response, long rowNumber) {
+        if (fieldValues == null || fields.stream().noneMatch(field -> fieldValues.containsKey(field.getId()))) {
+            addImportError(response, rowNumber, "No valid field values provided");
+            return;
+        }
+        int start = buffer.length();
+        try {
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                Object value = RecordValueUtils.validateAndConvertValue(fieldValues.get(field.getId()), field.getType(), field.getName());
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                if (value instanceof Timestamp timestamp) {
+                    // Same wall clock value pgjdbc sends for a bound Timestamp (JVM zone), as the column has no time zone
+                    buffer.append(timestamp.toLocalDateTime());
+                } else if (value != null) {
+                    buffer.append(CsvUtils.quote(value.toString()));
+                }
+            }
+            buffer.append('\n');
+        } catch (RuntimeException e) {
+            // Any conversion failure (e.g. a DateTimeParseException) only fails this row
+            buffer.setLength(start);
+            addImportError(response, rowNumber, e.getMessage());
+        }
+    }
+
+    private void addImportError(ImportRecordsResponse response, long rowNumber, String message) {
+        response.setFailedCount(response.getFailedCount() + 1);
+        if (response.getErrors().size() < MAX_IMPORT_ERRORS) {
+            ImportRowError error = new ImportRowError();
+            error.setRowNumber(rowNumber);
+            error.setMessage(message);
+            response.getErrors().add(error);
+        }
+    }
+
+    private void flushImportBuffer(CopyIn copyIn, StringBuilder buffer, boolean force) throws SQLException {
+        if (buffer.length() >= IMPORT_BUFFER_SIZE || (force && !buffer.isEmpty())) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Applies a mixed list of creates, updates and deletes in one transaction. Permissions and metadata are
+     * resolved once, and statements with the same shape are sent together with batchUpdate.
+     * Operations run grouped by type: creates, then updates, then deletes.
+     */
+    @Transactional
+    public BatchRecordsResponse batchRecords(UUID userId, UUID modelId, BatchRecordsRequest request) {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+
+        // Validate model exists
+        if (!catalog.modelExists(modelId)) {
+            throw new IllegalArgumentException("Model not found: " + modelId);
+        }
+
+        List<BatchRecordOperation> operations = request.getOperations();
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new FrontendException("A batch can contain at most " + MAX_BATCH_OPERATIONS + " operations", true);
+        }
+
+        // Perform permissions check, once per operation type
+        Set<BatchOperationType> types = EnumSet.noneOf(BatchOperationType.class);
+        operations.forEach(operation -> types.add(operation.getType()));
+        UserPermissions permissions = userPermissionCache.getPermissions(userId);
+        if (types.contains(BatchOperationType.CREATE) && !permissions.hasPermission(modelId, ModelPermission.ADD_RECORDS)) {
+            log.error("User with ID: " + userId + " does not have permission to add records for model: " + modelId);
+            throw new FrontendException("ADD RECORDS permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
+        if (types.contains(BatchOperationType.UPDATE) && !permissions.hasPermission(modelId, ModelPermission.EDIT_RECORDS)) {
+            log.error("User with ID: " + userId + " does not have permission to edit records for model: " + modelId);
+            throw new FrontendException("EDIT permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
+        if (types.contains(BatchOperationType.DELETE) && !permissions.hasPermission(modelId, ModelPermission.DELETE_RECORDS)) {
+            log.error("User with id " + userId + " does not have permission to delete records for model " + modelId);
+            throw new FrontendException("DELETE permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
+
+        List<Field> fields = catalog.getFields(modelId);
+        if (fields.isEmpty()) {
+            throw new IllegalStateException("No fields found for model: " + modelId);
+        }
+        String tableName = "records_" + sanitizeIdentifier(modelId.toString());
+
+        BatchRecordsResponse response = new BatchRecordsResponse();
+        List<BatchOperationResult> results = response.getResults();
+
+        // Validate every operation and group the statements by the columns they write
+        Map<List<Field>, List<Object[]>> insertGroups = new LinkedHashMap<>();
+        Map<List<Field>, List<Object[]>> updateGroups = new LinkedHashMap<>();
+        Map<UUID, BatchOperationResult> existingRecordChecks = new LinkedHashMap<>();
+        List<BatchOperationResult> deleteResults = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchRecordOperation operation = operations.get(i);
+            BatchOperationResult result = new BatchOperationResult();
+            result.setIndex(i);
+            result.setType(operation.getType());
+            result.setRecordId(operation.getType() == BatchOperationType.CREATE ? UUID.randomUUID() : operation.getRecordId());
+            result.setSuccess(true);
+            results.add(result);
+
+            try {
+                if (operation.getType() != BatchOperationType.CREATE) {
+                    if (operation.getRecordId() == null) {
+                        throw new IllegalArgumentException("Record ID cannot be null");
+                    }
+                    if (existingRecordChecks.putIfAbsent(operation.getRecordId(), result) != null) {
+                        throw new IllegalArgumentException("Record appears in more than one operation: " + operation.getRecordId());
+                    }
+                }
+                if (operation.getType() == BatchOperationType.DELETE) {
+                    deleteResults.add(result);
+                    continue;
+                }
+
+                Map<UUID, Object> fieldValues = operation.getFieldValues();
+                if (fieldValues == null || fieldValues.isEmpty()) {
+                    throw new IllegalArgumentException("Field values cannot be null or empty");
+                }
+                List<Field> columns = new ArrayList<>();
+                List<Object> values = new ArrayList<>();
+                for (Field field : fields) {
+                    if (fieldValues.containsKey(field.getId())) {
+                        columns.add(field);
+                        values.add(RecordValueUtils.validateAndConvertValue(fieldValues.get(field.getId()), field.getType(), field.getName()));
+                    }
+                }
+                if (columns.isEmpty()) {
+                    throw new IllegalArgumentException("No valid field values provided");
+                }
+                // The record id is the first INSERT parameter and the last UPDATE parameter
+                if (operation.getType() == BatchOperationType.CREATE) {
+                    values.add(0, result.getRecordId());
+                    insertGroups.computeIfAbsent(columns, k -> new ArrayList<>()).add(values.toArray());
+                } else {
+                    values.add(result.getRecordId());
+                    updateGroups.computeIfAbsent(columns, k -> new ArrayList<>()).add(values.toArray());
+                }
+            } catch (IllegalArgumentException | FrontendException e) {
+                failBatchOperation(result, e.getMessage());
+            }
+        }
+
+        // One round trip to check every updated and deleted record exists
+        if (!existingRecordChecks.isEmpty()) {
+            Set<UUID> existingIds = new HashSet<>(queryForUuids("SELECT id FROM " + tableName + " WHERE id = ANY(?)", existingRecordChecks.keySet()));
+            Set<UUID> missingIds = new HashSet<>();
+            existingRecordChecks.forEach((recordId, result) -> {
+                if (result.isSuccess() && !existingIds.contains(recordId)) {
+                    failBatchOperation(result, "Record does not exist: " + recordId);
+                    missingIds.add(recordId);
+                }
+            });
+            // Updates were grouped before the check, take the missing records out again
+            if (!missingIds.isEmpty()) {
+                updateGroups.values().forEach(rows -> rows.removeIf(row -> missingIds.contains(row[row.length - 1])));
+                updateGroups.values().removeIf(List::isEmpty);
+            }
+        }
+
+        // One query per model link to find deleted records that are still linked
+        if (!request.isOverrideLinkedModelsError() && !deleteResults.isEmpty()) {
+            Map<UUID, BatchOperationResult> deletesById = new HashMap<>();
+            deleteResults.stream().filter(BatchOperationResult::isSuccess).forEach(result -> deletesById.put(result.getRecordId(), result));
+            for (ModelLink modelLink : catalog.getModelLinks(modelId)) {
+                if (deletesById.isEmpty()) {
+                    break;
+                }
+                String linkTableName = "model_links_" + sanitizeIdentifier(modelLink.getId().toString());
+                UUID targetModelId = modelLink.getModel1Id().equals(modelId) ? modelLink.getModel2Id() : modelLink.getModel1Id();
+                String targetModelName = catalog.findModel(targetModelId).map(Model::getName).orElse(targetModelId.toString());
+                List<String> sideConditions = new ArrayList<>();
+                if (modelLink.getModel1Id().equals(modelId)) {
+                    sideConditions.add("SELECT record1_id FROM " + linkTableName + " WHERE record1_id = ANY(?)");
+                }
+                if (modelLink.getModel2Id().equals(modelId)) {
+                    sideConditions.add("SELECT record2_id FROM " + linkTableName + " WHERE record2_id = ANY(?)");
+                }
+                for (String sql : sideConditions) {
+                    for (UUID linkedId : queryForUuids(sql, deletesById.keySet())) {
+                        BatchOperationResult result = deletesById.remove(linkedId);
+                        if (result != null) {
+                            failBatchOperation(result, "Record has linked record(s) to :  " + targetModelName);
+                        }
+                    }
+                }
+            }
+        }
+
+        int failedCount = (int) results.stream().filter(result -> !result.isSuccess()).count();
+        response.setFailedCount(failedCount);
+        if (failedCount > 0 && request.isAtomic()) {
+            // Nothing was written yet
+            response.setApplied(false);
+            return response;
+        }
+
+        for (Map.Entry<List<Field>, List<Object[]>> group : insertGroups.entrySet()) {
+            StringBuilder insertSql = new StringBuilder();
+            insertSql.append("INSERT INTO ");
+            appendQuotedIdentifier(insertSql, tableName);
+            insertSql.append(" (id");
+            for (Field field : group.getKey()) {
+                insertSql.append(", ");
+                appendQuotedIdentifier(insertSql, "field_" + sanitizeIdentifier(field.getId().toString()));
+            }
+            insertSql.append(") VALUES (?");
+            insertSql.append(", ?".repeat(group.getKey().size()));
+            insertSql.append(")");
+            jdbcTemplate.batchUpdate(insertSql.toString(), group.getValue());
+            response.setCreatedCount(response.getCreatedCount() + group.getValue().size());
+        }
+
+        for (Map.Entry<List<Field>, List<Object[]>> group : updateGroups.entrySet()) {
+            StringBuilder updateSql = new StringBuilder();
+            updateSql.append("UPDATE ");
+            appendQuotedIdentifier(updateSql, tableName);
+            updateSql.append(" SET updated_at = CURRENT_TIMESTAMP");
+            for (Field field : group.getKey()) {
+                updateSql.append(", ");
+                appendQuotedIdentifier(updateSql, "field_" + sanitizeIdentifier(field.getId().toString()));
+                updateSql.append(" = ?");
+            }
+            updateSql.append(" WHERE id = ?");
+            jdbcTemplate.batchUpdate(updateSql.toString(), group.getValue());
+            response.setUpdatedCount(response.getUpdatedCount() + group.getValue().size());
+        }
+
+        List<UUID> deleteIds = deleteResults.stream().filter(BatchOperationResult::isSuccess).map(BatchOperationResult::getRecordId).toList();
+        if (!deleteIds.isEmpty()) {
+            int deleted = jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement("DELETE FROM " + tableName + " WHERE id = ANY(?)");
+                ps.setArray(1, connection.createArrayOf("uuid", deleteIds.toArray()));
+                return ps;
+            });
+            response.setDeletedCount(deleted);
+        }
+
+        if (response.getCreatedCount() > 0 || response.getDeletedCount() > 0) {
+            recordCountService.evict(tableName);
+        }
+        response.setApplied(true);
+        log.debug("Batch on table {}: {} created, {} updated, {} deleted, {} failed", tableName,
+                response.getCreatedCount(), response.getUpdatedCount(), response.getDeletedCount(), failedCount);
+        return response;
+    }
+
+    private void failBatchOperation(BatchOperationResult result, String message) {
+        result.setSuccess(false);
+        result.setMessage(message);
+    }
+
+    // Runs a query with a single uuid[] parameter that returns one uuid column
+    private List<UUID> queryForUuids(String sql, Collection<UUID> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
     @Transactional
     public RecordDto updateRecord(UUID userId, UUID modelId, UUID recordId, Map<UUID, Object> fieldValues) {
+        return updateRecord(userId, modelId, recordId, fieldValues, false, null);
+    }
+
+    /**
+     * Updates the record and returns it as written, read back with UPDATE ... RETURNING rather than a second query.
+     * Linked record counts cost one more query, so they are only filled in when asked for.
+     * When expectedUpdatedAt is given the update only applies if the record still has that updated_at,
+     * otherwise a {@link RecordVersionConflictException} is thrown (optimistic concurrency, no row locks held).
+     */
+    @Transactional
+    public RecordDto updateRecord(UUID userId, UUID modelId, UUID recordId, Map<UUID, Object> fieldValues,
+                                  boolean includeLinkedRecordCounts, Instant expectedUpdatedAt) {
 
         // Perform permissions check
         if (!userHasGivenPermissionOnModel(userId, modelId, ModelPermission.EDIT_RECORDS)) {
             log.error("User with ID: " + userId + " does not have permission to edit records for model: " + modelId);
             throw new FrontendException("EDIT permission required", ErrorCode.PERMISSION_DENIED, true);
         }
+        // The updated record is returned, which needs VIEW as well
+        if (!userHasGivenPermissionOnModel(userId, modelId, ModelPermission.VIEW_RECORDS)) {
+            log.error("User with id " + userId + " does not have permission to view records on model with id " + modelId);
+            throw new FrontendException("VIEW permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
 
         //Check if UUID exist
-        modelRepository.findById(modelId).orElseThrow(() -> new RuntimeException("Model not found: " + modelId));
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        catalog.findModel(modelId).orElseThrow(() -> new RuntimeException("Model not found: " + modelId));
 
         // Validate input
         if (recordId == null) {
@@ -357,7 +886,7 @@ public class ModelService {
         }
 
         // Get fields for validation
-        List<Field> fields = fieldRepository.findByModelId(modelId);
+        List<Field> fields = catalog.getFields(modelId);
         if (fields.isEmpty()) {
             throw new IllegalStateException("No fields found for model: " + modelId);
         }
@@ -379,7 +908,7 @@ public class ModelService {
                 Object value = fieldValues.get(fieldId);
 
                 // Validate and convert value based on field type
-                Object convertedValue = validateAndConvertValue(value, field.getType(), field.getName());
+                Object convertedValue = RecordValueUtils.validateAndConvertValue(value, field.getType(), field.getName());
 
                 String columnName = "field_" + sanitizeIdentifier(fieldId.toString());
                 updateSql.append(", ");
@@ -390,113 +919,132 @@ public class ModelService {
             }
         }
 
+        if (parameters.isEmpty()) {
+            throw new IllegalArgumentException("No valid field values provided for update");
+        }
+
         // Add WHERE clause
         updateSql.append(" WHERE id = ?");
         parameters.add(recordId);
+        if (expectedUpdatedAt != null) {
+            updateSql.append(" AND updated_at = ?");
+            parameters.add(Timestamp.from(expectedUpdatedAt));
+        }
 
-        if (parameters.size() == 1) { // Only the recordId parameter
-            throw new IllegalArgumentException("No valid field values provided for update");
+        // Return the updated row from the same statement
+        updateSql.append(" RETURNING id, created_at, updated_at");
+        for (Field field : fields) {
+            updateSql.append(", ");
+            appendQuotedIdentifier(updateSql, "field_" + sanitizeIdentifier(field.getId().toString()));
         }
 
         log.debug("Executing update with SQL: {}", updateSql.toString());
         log.debug("Parameters: {}", parameters);
 
         // Execute update
-        int rowsAffected = jdbcTemplate.update(updateSql.toString(), parameters.toArray());
+        List<RecordDto> rows = jdbcTemplate.query(updateSql.toString(), catalog.getRecordRowMapper(modelId), parameters.toArray());
 
-        if (rowsAffected == 0) {
+        if (rows.isEmpty()) {
+            String sqlRecordExists = "SELECT EXISTS(SELECT 1 FROM " + recordTableName + " WHERE id = ?)";
+            if (expectedUpdatedAt != null && Boolean.TRUE.equals(jdbcTemplate.queryForObject(sqlRecordExists, Boolean.class, recordId))) {
+                throw new RecordVersionConflictException("Record was modified by someone else, reload it and try again: " + recordId);
+            }
             throw new IllegalArgumentException("Record not found or no changes made: " + recordId);
         }
 
-        log.debug("Updated record with ID: {} in table: {}, rows affected: {}", recordId, recordTableName, rowsAffected);
+        log.debug("Updated record with ID: {} in table: {}", recordId, recordTableName);
 
-        // Return the updated record
-        return getRecord(userId, modelId, recordId);
+        // Same shape as getRecord: null field values are left out
+        RecordDto recordDto = rows.get(0);
+        if (includeLinkedRecordCounts) {
+            recordDto.setLinkedRecordCounts(getLinkedRecordCounts(modelId, recordId));
+        }
+        return recordDto;
+    }
+
+    @Transactional(readOnly = true)
+    public GetRecordsResponse getRecords(GetRecordsRequest request, UUID sourceModelId) {
+        return getRecords(null, request, sourceModelId, false);
+    }
+
+    /**
+     * Validates an export request. Runs before the response starts, so validation and permission errors
+     * are still reported as normal error responses.
+     */
+    @Transactional(readOnly = true)
+    public RecordQuery prepareRecordExport(UUID userId, GetRecordsRequest request, UUID sourceModelId) {
+        return prepareRecordQuery(userId, request, sourceModelId, true, false);
     }
 
-    private Object validateAndConvertValue(Object value, FieldType fieldType, String fieldName) {
-        if (value == null) {
-            return null;
+    /**
+     * Streams all records matching the query to the output stream. Rows are read through a server-side cursor
+     * (which PostgreSQL only uses inside a transaction) and written as they arrive, so heap use does not depend
+     * on the number of records.
+     */
+    public void exportRecords(RecordQuery recordQuery, RecordFileFormat format, OutputStream outputStream) throws IOException {
+        List<Field> fields = recordQuery.fields();
+        List<Object> parameters = new ArrayList<>(recordQuery.parameters());
+        // No limit, the page query is reused as is
+        parameters.add(Long.MAX_VALUE);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == RecordFileFormat.CSV) {
+            List<String> header = new ArrayList<>(List.of("id", "created_at", "updated_at"));
+            for (Field field : fields) {
+                header.add(field.getName());
+            }
+            CsvUtils.writeRow(writer, header);
         }
 
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
         try {
-            return switch (fieldType) {
-                case EMAIL, SINGLE_LINE_TEXT, MULTI_LINE_TEXT -> {
-                    if (value instanceof String) {
-                        // Save as null for empty string
-                        if (((String) value).isBlank()) {
-                            yield null;
-                        }
-                        yield value;
-                    }
-                    yield value.toString();
-                }
-                case DECIMAL -> {
-                    if (value instanceof Number) {
-                        yield value;
-                    }
-                    if (value instanceof String) {
-                        yield new java.math.BigDecimal((String) value);
-                    }
-                    throw new IllegalArgumentException("Invalid decimal value");
-                }
-                case LONG -> {
-                    if (value instanceof Number) {
-                        yield ((Number) value).longValue();
-                    }
-                    if (value instanceof String) {
-                        yield Long.valueOf((String) value);
-                    }
-                    throw new IllegalArgumentException("Invalid long value");
-                }
-                case BOOLEAN -> {
-                    if (value instanceof Boolean) {
-                        yield value;
-                    }
-                    if (value instanceof String) {
-                        yield Boolean.parseBoolean((String) value);
-                    }
-                    throw new IllegalArgumentException("Invalid boolean value");
-                }
-                case DATE -> {
-                    if (value instanceof String) {
-                        yield java.sql.Date.valueOf((String) value);
-                    }
-                    if (value instanceof java.sql.Date) {
-                        yield value;
-                    }
-                    throw new IllegalArgumentException("Invalid date value. Use YYYY-MM-DD format");
-                }
-                case DATETIME -> {
-                    if (value instanceof String) {
-                        String dateTimeStr = (String) value;
-                        try {
-                            // Try to parse as ISO format (2025-09-17T11:00:00.000Z)
-                            if (dateTimeStr.contains("T") && dateTimeStr.endsWith("Z")) {
-                                // Parse ISO format and convert to Timestamp
-                                Instant instant = Instant.parse(dateTimeStr);
-                                yield Timestamp.from(instant);
-                            }
-                        } catch (Exception e) {
-                            throw new FrontendException("Invalid datetime format. Expected ISO format (2025-09-17T11:00:00.000Z)", true);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(recordQuery.template().selectSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(EXPORT_FETCH_SIZE);
+                return ps;
+            }, new ArgumentPreparedStatementSetter(parameters.toArray()), (ResultSetExtractor<Void>) rs -> {
+                RecordRowMapper rowMapper = recordQuery.template().rowMapper();
+                int rowNum = 0;
+                try {
+                    while (rs.next()) {
+                        RecordDto recordDto = rowMapper.mapRow(rs, rowNum++);
+                        if (format == RecordFileFormat.CSV) {
+                            writeCsvRecord(writer, recordDto, fields);
+                        } else {
+                            writer.write(objectMapper.writeValueAsString(recordDto));
+                            writer.write('\n');
                         }
                     }
-                    throw new FrontendException("Invalid value for field '" + fieldName + "' of type DATETIME: Expected ISO format (2025-09-17T11:00:00.000Z)", true);
+                } catch (IOException e) {
+                    // Usually the client went away, stop reading
+                    throw new UncheckedIOException(e);
                 }
-            };
-        } catch (Exception e) {
-            log.error("Invalid value for field [{}]. Field class type: [{}]. Value: [{}]. Exception message: [{}]", fieldName, value.getClass().getName(), value,  e.getMessage());
-            throw new IllegalArgumentException("Invalid value for field '" + fieldName + "' of type " + fieldType + ": " + e.getMessage());
+                return null;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        writer.flush();
     }
 
-    @Transactional(readOnly = true)
-    public GetRecordsResponse getRecords(GetRecordsRequest request, UUID sourceModelId) {
-        return getRecords(null, request, sourceModelId, false);
+    private void writeCsvRecord(Writer writer, RecordDto recordDto, List<Field> fields) throws IOException {
+        List<Object> values = new ArrayList<>(fields.size() + 3);
+        values.add(recordDto.getId());
+        values.add(recordDto.getCreatedAt());
+        values.add(recordDto.getUpdatedAt());
+        for (Field field : fields) {
+            values.add(recordDto.getFieldValues().get(field.getId()));
+        }
+        CsvUtils.writeRow(writer, values);
     }
 
-    @Transactional(readOnly = true)
-    public GetRecordsResponse getRecords(UUID userId, GetRecordsRequest request, UUID sourceModelId, boolean doPermissionsCheck) {
+    /**
+     * Validates a records request and compiles its query. Cursor values and the limit are bound by the caller.
+     *
+     * @param paged false to ignore the cursor and page direction (exports read every matching record)
+     */
+    private RecordQuery prepareRecordQuery(UUID userId, GetRecordsRequest request, UUID sourceModelId, boolean doPermissionsCheck, boolean paged) {
 
         if (doPermissionsCheck) {
             if (!userHasGivenPermissionOnModel(userId, sourceModelId, ModelPermission.VIEW_RECORDS)) {
@@ -509,21 +1057,16 @@ public class ModelService {
             throw new FrontendException("Query Type not supplied", true);
         }
 
-        // Validate limit
-        int limit = request.getLimit();
-        if (limit <= 0 || limit > 1000) {
-            throw new FrontendException("Limit must be between 1 and 1000", true);
-        }
-
-        boolean isPreviousPage = request.isPrevious();
+        boolean isPreviousPage = paged && request.isPrevious();
 
         String sortOrder = request.getSortOrder();
         String sortField = request.getSortField();
-        String cursor = request.getCursor();
+        String cursor = paged ? request.getCursor() : null;
         List<SearchParameter> searchParameters = request.getSearchParameters();
 
         // Validate model exists
-        if (!modelRepository.existsById(sourceModelId)) {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        if (!catalog.modelExists(sourceModelId)) {
             throw new FrontendException("Model not found: " + sourceModelId, true);
         }
 
@@ -531,30 +1074,24 @@ public class ModelService {
         ModelLink modelLink;
         //Model targetModel;
         int linkedSourceRecordNumber = 0;
-        int linkedTargetRecordNumber = 0;
         List<Field> fields;
         String tableName = null;
-        String modelLinkTablename = null;
         UUID targetModelId = null;
         if (request.getQueryType() == QueryType.LINKED_RECORDS || request.getQueryType() == QueryType.RECORDS_NOT_LINKED) {
             UUID modelLinkId = request.getModelLinkId();
             UUID sourceRecordId = request.getSourceRecordId();
 
-            modelLink = modelLinkRepository.findById(modelLinkId).orElseThrow(() -> new IllegalArgumentException("Invalid model link id"));
-
-            modelLinkTablename = "model_links_" + sanitizeIdentifier(modelLinkId.toString());
+            modelLink = catalog.findModelLink(modelLinkId).orElseThrow(() -> new IllegalArgumentException("Invalid model link id"));
 
             if (modelLink.getModel1Id().equals(sourceModelId)) {
                 //Validate target model id
-                modelRepository.findById(modelLink.getModel2Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
+                catalog.findModel(modelLink.getModel2Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
                 targetModelId = modelLink.getModel2Id();
                 linkedSourceRecordNumber = 1;
-                linkedTargetRecordNumber = 2;
             } else if (modelLink.getModel2Id().equals(sourceModelId)) {
                 linkedSourceRecordNumber = 2;
-                linkedTargetRecordNumber = 1;
                 //Validate target model Id
-                modelRepository.findById(modelLink.getModel1Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
+                catalog.findModel(modelLink.getModel1Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
                 targetModelId = modelLink.getModel1Id();
             } else {
                 throw new IllegalArgumentException("Invalid model link id");
@@ -568,306 +1105,136 @@ public class ModelService {
                 throw new IllegalArgumentException("Invalid source record id");
             }
             // Get fields for metadata and validation
-            fields = fieldRepository.findByModelId(targetModelId);
+            fields = catalog.getFields(targetModelId);
             if (fields.isEmpty()) {
                 throw new IllegalStateException("No fields found for model: " + targetModelId);
             }
             tableName = "records_" + sanitizeIdentifier(targetModelId.toString());
         } else {
             // Get fields for metadata and validation
-            fields = fieldRepository.findByModelId(sourceModelId);
+            fields = catalog.getFields(sourceModelId);
             if (fields.isEmpty()) {
                 throw new IllegalStateException("No fields found for model: " + sourceModelId);
             }
             tableName = "records_" + sanitizeIdentifier(sourceModelId.toString());
         }
 
-        String actualRecordCountSql = null;
-        if (request.getQueryType() == QueryType.ALL_RECORDS) {
-            actualRecordCountSql = "SELECT COUNT(*) FROM " + " records_" + sanitizeIdentifier(sourceModelId.toString());
-        }
-
-        if (request.getQueryType() == QueryType.RECORDS_NOT_LINKED || request.getQueryType() == QueryType.LINKED_RECORDS) {
-            actualRecordCountSql = "SELECT COUNT(*) FROM " + " records_" + sanitizeIdentifier(targetModelId.toString());
-        }
-
-        if (actualRecordCountSql == null) {
-            throw new RuntimeException("actualRecordCountSql is null");
-        }
-
-        Long actualRecordCount = jdbcTemplate.queryForObject(actualRecordCountSql, Long.class);
-
         // Validate and normalize sort parameters
         String validatedSortField = validateSortField(sortField, fields);
         String validatedSortOrder = validateSortOrder(sortOrder);
 
         // Decode cursor
-        CursorInfo cursorInfo = CursorUtils.decodeCursor(cursor);
-        
-        // Build table name
-
-
-        // Build the SELECT query
-        StringBuilder querySql = new StringBuilder();
-        querySql.append("SELECT r.id, r.created_at, r.updated_at");
-
-        if (request.getQueryType() == QueryType.LINKED_RECORDS) {
-            querySql.append(", ml.id as link_id");
-        }
-
-        // Add field columns to SELECT
-        for (Field field : fields) {
-            String columnName = "field_" + sanitizeIdentifier(field.getId().toString());
-            querySql.append(", r.");
-            appendQuotedIdentifier(querySql, columnName);
-        }
-
-        querySql.append(" FROM ");
-        appendQuotedIdentifier(querySql, tableName);
-        querySql.append(" r ");
-
-        List<Object> parameters = new ArrayList<>();
-
-        //Now join the linked records table
-        if (request.getQueryType() == QueryType.LINKED_RECORDS) {
-            querySql.append(" JOIN " + modelLinkTablename + " ml ");
-            querySql.append(" ON ml.record" + linkedTargetRecordNumber + "_id = r.id AND ml.record" + linkedSourceRecordNumber + "_id = ? ");
-            parameters.add(request.getSourceRecordId());
-            log.debug(querySql.toString());
-        }
-
-        if (request.getQueryType() == QueryType.RECORDS_NOT_LINKED) {
-            querySql.append(" LEFT JOIN " + modelLinkTablename + " ml ON ml.record" + linkedTargetRecordNumber + "_id = r.id AND ml.record" + linkedSourceRecordNumber + "_id = ? ");
-            parameters.add(request.getSourceRecordId());
-        }
-
-        // Build WHERE clause
-        String sortColumn = CursorUtils.getDatabaseColumnName(validatedSortField, fields);
-
-
-        querySql.append(" WHERE r.").append(sortColumn).append(" IS NOT NULL ");
-
-        if (request.getQueryType() == QueryType.RECORDS_NOT_LINKED) {
-            querySql.append(" AND ml.record" + linkedSourceRecordNumber + "_id IS NULL ");
-        }
-
-        // Process search criteria
-        List<String> searchConditions = new ArrayList<>();
-        
-        if (searchParameters != null && !searchParameters.isEmpty()) {
-
-            for (SearchParameter searchParameter : searchParameters) {
-                SearchFieldType searchFieldType;
-                String columnName;
-
-                if (searchParameter.getSearchFieldIdentifier() == null) {
-                    throw new IllegalArgumentException("Invalid search field identifier. Is null.");
-                }
-
-                Field field = null;
-
-                if (searchParameter.getSearchFieldIdentifier() == SearchFieldIdentifier.CUSTOM_FIELD) {
-                    if (searchParameter.getFieldID() == null) {
-                        throw new IllegalArgumentException("Invalid field ID. Is null.");
-                    }
-                    field = fieldRepository.findById(searchParameter.getFieldID())
-                            .orElseThrow(() -> new IllegalArgumentException("Field not found: " + searchParameter.getFieldID()));
-                }
-
-                columnName = switch(searchParameter.getSearchFieldIdentifier()) {
-                    case null -> throw new IllegalArgumentException("Invalid search field identifier. Is null.");
-                    case CREATED_AT -> "r.created_at";
-                    case UPDATED_AT -> "r.updated_at";
-                    case ID -> "r.id";
-                    case CUSTOM_FIELD -> {
-                        yield "r.field_" + sanitizeIdentifier(field.getId().toString());
-                    }
-                };
-                searchFieldType = switch(searchParameter.getSearchFieldIdentifier()) {
-                    case null -> throw new IllegalArgumentException("Invalid search field identifier. Is null.");
-                    case CREATED_AT, UPDATED_AT -> SearchFieldType.DATETIME;
-                    case ID -> SearchFieldType.UUID;
-                    case CUSTOM_FIELD -> SearchFieldType.fromFieldType(field.getType());
+        CursorInfo cursorInfo = CursorUtils.decodeCursor(cursor);
 
-                };
+        String sortColumn = CursorUtils.getDatabaseColumnName(validatedSortField, fields);
 
-                if (columnName == null) {
-                    throw new IllegalArgumentException("Column name is null");
-                }
+        List<Object> parameters = new ArrayList<>();
 
-                if (searchFieldType == null) {
-                    throw new IllegalArgumentException("Search field type is null");
-                }
+        // The linked records join binds the source record first
+        if (request.getQueryType() == QueryType.LINKED_RECORDS || request.getQueryType() == QueryType.RECORDS_NOT_LINKED) {
+            parameters.add(request.getSourceRecordId());
+        }
 
-                //<editor-fold desc="Validate Search">
-                switch (searchFieldType) {
-                    case null -> throw new IllegalArgumentException("Search field type is null");
-                    case DATETIME -> {
-                        switch (searchParameter.getSearchType()) {
-                            case DATE_TIME_AFTER, DATE_TIME_BEFORE, DATE_TIME_BETWEEN -> log.debug("Valid");
-                            default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                        }
-                    }
-                    case UUID, TEXT -> {
-                        switch (searchParameter.getSearchType()) {
-                            case TEXT_CONTAINS, TEXT_NOT_CONTAINS, TEXT_NOT_EQUALS, TEXT_ENDS_WITH, TEXT_STARTS_WITH, TEXT_EQUALS -> log.debug("Valid");
-                            default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                        }
-                    }
-                    case BOOLEAN -> {
-                        switch (searchParameter.getSearchType()) {
-                            case BOOLEAN_TRUE, BOOLEAN_FALSE ->  log.debug("Valid");
-                            default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                        }
-                    }
-                    case DECIMAL -> {
-                        switch (searchParameter.getSearchType()) {
-                            case DECIMAL_EQUALS, DECIMAL_GREATER_THAN, DECIMAL_LESS_THAN -> log.debug("Valid");
-                            default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                        }
-                    }
-                    case LONG ->  {
-                        switch (searchParameter.getSearchType()) {
-                            case LONG_EQUALS, LONG_GREATER_THAN, LONG_LESS_THAN -> log.debug("Valid");
-                            default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                        }
-                    }
-                    case DATE -> {
-                        switch (searchParameter.getSearchType()) {
-                            case DATE_AFTER, DATE_BEFORE, DATE_BETWEEN, DATE_ON -> log.debug("Valid");
-                            default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                        }
-                    }
-                    default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                }
-                //</editor-fold>
-
-                String condition = switch (searchFieldType) {
-                    case null -> throw new IllegalArgumentException("Invalid search field identifier. Is null.");
-                    case TEXT -> buildTextSearchCondition(columnName, searchParameter, parameters);
-                    case DATE -> buildDateSearchCondition(columnName, searchParameter, parameters);
-                    case DATETIME -> buildDateTimeSearchCondition(columnName, searchParameter, parameters);
-                    case BOOLEAN -> buildBooleanSearchCondition(columnName, searchParameter, parameters);
-                    case DECIMAL -> buildDecimalSearchCondition(columnName, searchParameter, parameters);
-                    case LONG -> buildLongSearchCondition(columnName, searchParameter, parameters);
-                    case UUID ->  buildUuidSearchCondition(columnName, searchParameter, parameters);
-                    default -> throw new IllegalArgumentException("Invalid search parameter: " + searchParameter.getSearchType());
-                };
-
-                if (condition != null) {
-                    searchConditions.add(condition);
+        // Only the bind values are collected per request, the conditions are compiled once per search shape
+        List<RecordSearchKey> searches = new ArrayList<>();
+        if (searchParameters != null) {
+            for (SearchParameter searchParameter : searchParameters) {
+                RecordSearchKey search = RecordQueryCompiler.bindSearchParameter(searchParameter, parameters);
+                if (search != null) {
+                    searches.add(search);
                 }
             }
         }
 
-        if (!searchConditions.isEmpty()) {
-            querySql.append(" AND ");
-            querySql.append(String.join(" AND ", searchConditions));
-        }
-
-        // Optional: Get rough count estimate (can be expensive on large tables)
-        Long totalRecords;
-        try {
-            String countSql = convertToCountQuery(querySql.toString());
-            totalRecords = jdbcTemplate.queryForObject(countSql, parameters.toArray(), Long.class);
-        } catch (Exception e) {
-            log.warn("Could not get count estimate for table {}: {}", tableName, e.getMessage());
-            totalRecords = -1L; // Indicate count unavailable
-        }
-
         String effectiveSortOrder = validatedSortOrder;
         
         // For previous page navigation, we need to reverse the sort order and comparison
         if (isPreviousPage) {
             effectiveSortOrder = "DESC".equalsIgnoreCase(validatedSortOrder) ? "ASC" : "DESC";
         }
-        
-        if (cursorInfo != null) {
 
-            Object sortValue = CursorUtils.convertCursorValueForComparison(
-                cursorInfo.getSortFieldValue(), validatedSortField, fields);
-            UUID cursorRecordId = cursorInfo.getRecordId();
+        // Same query shape -> same SQL text, so only the bind values differ between calls
+        RecordQueryKey queryKey = new RecordQueryKey(
+                catalog.getVersion(),
+                request.getQueryType(),
+                targetModelId != null ? targetModelId : sourceModelId,
+                targetModelId != null ? request.getModelLinkId() : null,
+                linkedSourceRecordNumber,
+                sortColumn,
+                effectiveSortOrder,
+                cursorInfo != null,
+                List.copyOf(searches));
+        RecordQueryTemplate queryTemplate = catalog.isShared()
+                ? recordQueryCache.getTemplate(queryKey, key -> RecordQueryCompiler.compile(key, fields))
+                : RecordQueryCompiler.compile(queryKey, fields);
+
+        return new RecordQuery(fields, tableName, validatedSortField, validatedSortOrder, cursorInfo, queryTemplate, parameters);
+    }
 
-            querySql.append(" AND ");
+    @Transactional(readOnly = true)
+    public GetRecordsResponse getRecords(UUID userId, GetRecordsRequest request, UUID sourceModelId, boolean doPermissionsCheck) {
 
-            if ("DESC".equalsIgnoreCase(effectiveSortOrder)) {
-                // For DESC: (sort_field < cursor_value) OR (sort_field = cursor_value AND id < cursor_id)
-                querySql.append("(r.").append(sortColumn).append(" < ?");
-                querySql.append(" OR (r.").append(sortColumn).append(" = ? AND r.id < ?))");
-                parameters.add(sortValue);
-                parameters.add(sortValue);
-                parameters.add(cursorRecordId);
-            } else {
-                // For ASC: (sort_field > cursor_value) OR (sort_field = cursor_value AND id > cursor_id)
-                querySql.append("(r.").append(sortColumn).append(" > ?");
-                querySql.append(" OR (r.").append(sortColumn).append(" = ? AND r.id > ?))");
-                parameters.add(sortValue);
-                parameters.add(sortValue);
-                parameters.add(cursorRecordId);
-            }
+        // Validate limit
+        int limit = request.getLimit();
+        if (limit <= 0 || limit > 1000) {
+            throw new FrontendException("Limit must be between 1 and 1000", true);
+        }
+
+        boolean isPreviousPage = request.isPrevious();
+        String sortField = request.getSortField();
+        String cursor = request.getCursor();
 
+        RecordQuery recordQuery = prepareRecordQuery(userId, request, sourceModelId, doPermissionsCheck, true);
+        List<Field> fields = recordQuery.fields();
+        String tableName = recordQuery.tableName();
+        String validatedSortField = recordQuery.sortField();
+        String validatedSortOrder = recordQuery.sortOrder();
+        CursorInfo cursorInfo = recordQuery.cursorInfo();
+        RecordQueryTemplate queryTemplate = recordQuery.template();
+        List<Object> parameters = new ArrayList<>(recordQuery.parameters());
+
+        // Total number of records in the queried table (ignoring search and link filters)
+        RecordCount actualRecordCount = recordCountService.countRecords(tableName, request.getCountStrategy());
+
+        // Count of all matching records, only when asked for (can be expensive on large tables)
+        RecordCount totalRecords = RecordCount.none();
+        if (request.isIncludeFilteredCount()) {
+            try {
+                Long count = recordMetrics.time(RecordMetrics.COUNT_RECORDS, Tags.of("strategy", "FILTERED"),
+                        () -> jdbcTemplate.queryForObject(queryTemplate.countSql(), parameters.toArray(), Long.class));
+                totalRecords = new RecordCount(count != null ? count : 0L, CountStrategy.EXACT);
+            } catch (Exception e) {
+                log.warn("Could not get count estimate for table {}: {}", tableName, e.getMessage());
+            }
         }
 
-        // Add ORDER BY clause with tie-breaker
-        querySql.append(" ORDER BY r.").append(sortColumn).append(" ").append(effectiveSortOrder);
-        querySql.append(", r.id ").append(effectiveSortOrder); // Always add ID as tie-breaker
+        if (cursorInfo != null) {
+            Object sortValue = CursorUtils.convertCursorValueForComparison(
+                cursorInfo.getSortFieldValue(), validatedSortField, fields);
+            parameters.add(sortValue);
+            parameters.add(sortValue);
+            parameters.add(cursorInfo.getRecordId());
+        }
 
-        // Add LIMIT (get one extra record to check if there are more pages)
-        querySql.append(" LIMIT ?");
+        // Get one extra record to check if there are more pages
         parameters.add(limit + 1);
 
-        log.debug("Executing pagination query: {}", querySql.toString());
+        log.debug("Executing pagination query: {}", queryTemplate.selectSql());
         log.debug("Parameters: {}", parameters);
 
         // Execute query
-        List<Map<String, Object>> rows;
+        List<RecordDto> recordDtos;
         try {
-            rows = jdbcTemplate.queryForList(querySql.toString(), parameters.toArray());
+            recordDtos = jdbcTemplate.query(queryTemplate.selectSql(), queryTemplate.rowMapper(), parameters.toArray());
         } catch (Exception e) {
             log.error("Error executing pagination query for model {}: {}", sourceModelId, e.getMessage());
             throw new RuntimeException("Failed to retrieve records: " + e.getMessage());
         }
 
         // Check if there are more records (hasNext)
-        boolean hasNext = rows.size() > limit;
+        boolean hasNext = recordDtos.size() > limit;
         if (hasNext) {
-            rows = rows.subList(0, limit); // Remove the extra record
-        }
-
-        // Convert database rows to DTOs
-        List<RecordDto> recordDtos = new ArrayList<>();
-        for (Map<String, Object> row : rows) {
-            RecordDto recordDto = new RecordDto();
-            recordDto.setId((UUID) row.get("id"));
-
-            // Handle timestamp conversion safely
-            Object createdAtObj = row.get("created_at");
-            if (createdAtObj instanceof java.sql.Timestamp) {
-                recordDto.setCreatedAt(((java.sql.Timestamp) createdAtObj).toInstant());
-            }
-
-            Object updatedAtObj = row.get("updated_at");
-            if (updatedAtObj instanceof java.sql.Timestamp) {
-                recordDto.setUpdatedAt(((java.sql.Timestamp) updatedAtObj).toInstant());
-            }
-
-            UUID linkId = (UUID) row.get("link_id");
-            recordDto.setLinkId(linkId);
-
-            // Extract field values
-            Map<UUID, Object> fieldValues = new HashMap<>();
-            for (Field field : fields) {
-                String columnName = "field_" + sanitizeIdentifier(field.getId().toString());
-                Object value = row.get(columnName);
-                if (value != null) {
-                    Object convertedValue = convertFromDatabase(value, field.getType());
-                    fieldValues.put(field.getId(), convertedValue);
-                } else {
-                    fieldValues.put(field.getId(), null);
-                }
-            }
-            recordDto.setFieldValues(fieldValues);
-            recordDtos.add(recordDto);
+            recordDtos = recordDtos.subList(0, limit); // Remove the extra record
         }
         
         // If this was a previous page request, we need to reverse the results
@@ -886,6 +1253,8 @@ public class ModelService {
             fieldDto.setType(field.getType());
             fieldDto.setIsParentField(field.getIsParentField());
             fieldDto.setIsRequired(field.getIsRequired());
+            fieldDto.setIsIndexed(Boolean.TRUE.equals(field.getIsIndexed()));
+            fieldDto.setIsSearchable(Boolean.TRUE.equals(field.getIsSearchable()));
             fieldDtos.add(fieldDto);
         }
 
@@ -894,7 +1263,8 @@ public class ModelService {
         paginationInfo.setLimit(limit);
         paginationInfo.setSortField(sortField); // Return original field name/ID for frontend
         paginationInfo.setSortOrder(validatedSortOrder);
-        paginationInfo.setActualRecordCount(actualRecordCount);
+        paginationInfo.setActualRecordCount(actualRecordCount.count());
+        paginationInfo.setActualRecordCountStrategy(actualRecordCount.strategy());
         
         if (isPreviousPage) {
             // For previous page, hasNext means there are more records in the forward direction
@@ -938,7 +1308,8 @@ public class ModelService {
             }
         }
 
-        paginationInfo.setTotalEstimate(totalRecords != null ? totalRecords : 0L);
+        paginationInfo.setTotalEstimate(totalRecords.count());
+        paginationInfo.setTotalEstimateStrategy(totalRecords.strategy());
 
         // Build and return response
         GetRecordsResponse response = new GetRecordsResponse();
@@ -964,18 +1335,19 @@ public class ModelService {
         }
 
         //Check if model exists
-        modelRepository.findById(modelId).orElseThrow(() -> new RuntimeException("Model not found for model ID: " + modelId));
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        catalog.findModel(modelId).orElseThrow(() -> new RuntimeException("Model not found for model ID: " + modelId));
 
         String recordTableName = "records_" + sanitizeIdentifier(modelId.toString());
         // Get fields for metadata
-        List<Field> fields = fieldRepository.findByModelId(modelId);
+        List<Field> fields = catalog.getFields(modelId);
         if (fields.isEmpty()) {
             throw new IllegalStateException("No fields found for model: " + modelId);
         }
 
         // Build the SELECT query for single record
         StringBuilder querySql = new StringBuilder();
-        querySql.append("SELECT id, created_at, updated_at");
+        querySql.append(SlowQueryService.RECORD_READ_TAG).append("SELECT id, created_at, updated_at");
 
         // Add field columns to SELECT
         for (Field field : fields) {
@@ -991,41 +1363,14 @@ public class ModelService {
         log.debug("Executing single record query: {}", querySql.toString());
 
         // Execute query
-        Map<String, Object> row;
+        RecordDto recordDto;
         try {
-            row = jdbcTemplate.queryForMap(querySql.toString(), recordId);
+            recordDto = jdbcTemplate.queryForObject(querySql.toString(), catalog.getRecordRowMapper(modelId), recordId);
         } catch (Exception e) {
             log.error("Error executing single record query for record {}: {}", recordId, e.getMessage());
             throw new RuntimeException("Failed to retrieve record: " + e.getMessage());
         }
 
-        // Convert database row to DTO
-        RecordDto recordDto = new RecordDto();
-        recordDto.setId((UUID) row.get("id"));
-
-        // Handle timestamp conversion safely
-        Object createdAtObj = row.get("created_at");
-        if (createdAtObj instanceof java.sql.Timestamp) {
-            recordDto.setCreatedAt(((java.sql.Timestamp) createdAtObj).toInstant());
-        }
-
-        Object updatedAtObj = row.get("updated_at");
-        if (updatedAtObj instanceof java.sql.Timestamp) {
-            recordDto.setUpdatedAt(((java.sql.Timestamp) updatedAtObj).toInstant());
-        }
-
-        // Extract field values
-        Map<UUID, Object> fieldValues = new HashMap<>();
-        for (Field field : fields) {
-            String columnName = "field_" + sanitizeIdentifier(field.getId().toString());
-            Object value = row.get(columnName);
-            if (value != null) {
-                Object convertedValue = convertFromDatabase(value, field.getType());
-                fieldValues.put(field.getId(), convertedValue);
-            }
-        }
-        recordDto.setFieldValues(fieldValues);
-
         //Find linked records
 
         recordDto.setLinkedRecordCounts(getLinkedRecordCounts(modelId, recordId));
@@ -1048,7 +1393,7 @@ public class ModelService {
         }
 
         //Check if model exists
-        modelRepository.findById(modelId).orElseThrow(() -> new RuntimeException("Model not found for model ID: " + modelId));
+        modelMetadataCache.getCatalog().findModel(modelId).orElseThrow(() -> new RuntimeException("Model not found for model ID: " + modelId));
 
         String recordTableName = "records_" + sanitizeIdentifier(modelId.toString());
         //Check if record exists
@@ -1086,11 +1431,6 @@ public class ModelService {
         jdbcTemplate.update(sqlDelete, recordId);
     }
 
-    public String convertToCountQuery(String originalSql) {
-        // Convert SELECT clause to COUNT(*)
-        return originalSql.replaceAll("(?i)SELECT\\s+.*?\\s+FROM", "SELECT COUNT(*) FROM");
-    }
-
     private String validateSortField(String sortField, List<Field> fields) {
         // Default to 'created_at' if no sort field specified
         if (sortField == null || sortField.trim().isEmpty()) {
@@ -1125,191 +1465,6 @@ public class ModelService {
         return "ASC";
     }
 
-    private String buildTextSearchCondition(String columnName, SearchParameter searchParameter, List<Object> parameters) {
-
-        String value = searchParameter.getTextSearchValue();
-        
-        switch (searchParameter.getSearchType()) {
-            case TEXT_CONTAINS:
-                parameters.add("%" + value + "%");
-                return columnName + " ILIKE ?";
-            case TEXT_EQUALS:
-                parameters.add(value);
-                return columnName + " = ?";
-            case TEXT_STARTS_WITH:
-                parameters.add(value + "%");
-                return columnName + " ILIKE ?";
-            case TEXT_ENDS_WITH:
-                parameters.add("%" + value);
-                return columnName + " ILIKE ?";
-            case TEXT_NOT_CONTAINS:
-                parameters.add("%" + value + "%");
-                return columnName + " NOT ILIKE ?";
-            case TEXT_NOT_EQUALS:
-                parameters.add(value);
-                return columnName + " != ?";
-            default:
-                return null;
-        }
-    }
-
-    private String buildUuidSearchCondition(String columnName, SearchParameter searchParameter, List<Object> parameters) {
-
-        String searchValue = searchParameter.getTextSearchValue();
-
-        switch (searchParameter.getSearchType()) {
-            case TEXT_CONTAINS:
-                parameters.add("%" + searchParameter.getTextSearchValue() + "%");
-                return "CAST(" + columnName + " AS TEXT) ILIKE ?";
-            case TEXT_EQUALS:
-                // Try to parse as UUID first, fall back to string comparison
-                try {
-                    UUID.fromString(searchValue);
-                    parameters.add(searchValue);
-                    return columnName + " = CAST(? AS UUID)";
-                } catch (IllegalArgumentException e) {
-                    // If not a valid UUID, convert to string for comparison
-                    parameters.add(searchValue);
-                    return "CAST(" + columnName + " AS TEXT) = ?";
-                }
-            case TEXT_STARTS_WITH:
-                parameters.add(searchValue + "%");
-                return "CAST(" + columnName + " AS TEXT) ILIKE ?";
-            case TEXT_ENDS_WITH:
-                parameters.add("%" + searchValue);
-                return "CAST(" + columnName + " AS TEXT) ILIKE ?";
-            case TEXT_NOT_CONTAINS:
-                parameters.add("%" + searchValue + "%");
-                return "CAST(" + columnName + " AS TEXT) NOT ILIKE ?";
-            case TEXT_NOT_EQUALS:
-                try {
-                    UUID.fromString(searchValue);
-                    parameters.add(searchValue);
-                    return columnName + " != CAST(? AS UUID)";
-                } catch (IllegalArgumentException e) {
-                    parameters.add(searchValue);
-                    return "CAST(" + columnName + " AS TEXT) != ?";
-                }
-            default:
-                throw new RuntimeException("Invalid search parameter: " + searchParameter.getSearchType());
-        }
-    }
-
-    private String buildDecimalSearchCondition(String columnName, SearchParameter searchParameter, List<Object> parameters) {
-
-        if (searchParameter.getDoubleSearchValue() == null) {
-            throw new RuntimeException("Invalid search parameter: " + searchParameter.getSearchType());
-        }
-
-        BigDecimal searchValue = searchParameter.getDoubleSearchValue();
-
-        switch (searchParameter.getSearchType()) {
-            case DECIMAL_EQUALS:
-                parameters.add(searchValue);
-                return columnName + " = ?";
-            case DECIMAL_GREATER_THAN:
-                parameters.add(searchValue);
-                return columnName + " > ?";
-            case DECIMAL_LESS_THAN:
-                parameters.add(searchValue);
-                return columnName + " < ?";
-            default:
-                return null;
-        }
-    }
-
-    private String buildLongSearchCondition(String columnName, SearchParameter searchParameter, List<Object> parameters) {
-
-        if (searchParameter.getLongSearchValue() == null) {
-            throw new RuntimeException("Long value is null");
-        }
-        long searchValue = searchParameter.getLongSearchValue();
-
-        switch (searchParameter.getSearchType()) {
-            case LONG_EQUALS:
-                parameters.add(searchValue);
-                return columnName + " = ?";
-            case LONG_GREATER_THAN:
-                parameters.add(searchValue);
-                return columnName + " > ?";
-            case LONG_LESS_THAN:
-                parameters.add(searchValue);
-                return columnName + " < ?";
-            default:
-                return null;
-        }
-    }
-
-    private String buildBooleanSearchCondition(String columnName, SearchParameter searchParameter, List<Object> parameters) {
-
-        switch (searchParameter.getSearchType()) {
-            case BOOLEAN_FALSE -> parameters.add(false);
-            case BOOLEAN_TRUE -> parameters.add(true);
-            default -> throw new IllegalArgumentException("Invalid search parameter");
-        }
-
-        return columnName + " = ?";
-
-    }
-
-    private String buildDateTimeSearchCondition(String columnName, SearchParameter searchParameter, List<Object> parameters) {
-
-        SearchType searchType = searchParameter.getSearchType();
-
-
-        switch (searchType) {
-            case null: throw new IllegalArgumentException("Invalid search parameter");
-            case DATE_TIME_BEFORE:
-                if (searchParameter.getDateTimeBefore() == null) {
-                    throw new IllegalArgumentException("Invalid search parameter");
-                }
-                parameters.add(searchParameter.getDateTimeBefore());
-                return columnName + " < ?";
-            case DATE_TIME_AFTER:
-                if (searchParameter.getDateTimeAfter() == null) {
-                    throw new IllegalArgumentException("Invalid search parameter");
-                }
-                parameters.add(searchParameter.getDateTimeAfter());
-                return columnName + " > ?";
-            case DATE_TIME_BETWEEN:
-                if (searchParameter.getDateTimeStart() == null || searchParameter.getDateTimeEnd() == null) {
-                    throw new IllegalArgumentException("Invalid search parameter");
-                }
-                parameters.add(searchParameter.getDateTimeStart());
-                parameters.add(searchParameter.getDateTimeEnd());
-                return columnName + " >= ? AND " + columnName + " <= ?";
-            default:
-                throw new IllegalArgumentException("Invalid search type");
-        }
-    }
-
-    private String buildDateSearchCondition(String columnName , SearchParameter searchParameter,  List<Object> parameters) {
-        try {
-            SearchType searchType = searchParameter.getSearchType();
-
-            switch (searchType) {
-                case DATE_ON:
-                        parameters.add(searchParameter.getDateOn().toString());
-                        return "DATE(" + columnName + ") = DATE(?)";
-                case DATE_BEFORE:
-                    parameters.add(searchParameter.getDateBefore().toString());
-                    return "DATE(" + columnName + ") < DATE(?)";
-                case DATE_AFTER:
-                    parameters.add(searchParameter.getDateAfter().toString());
-                    return "DATE(" + columnName + ") > DATE(?)";
-                case DATE_BETWEEN:
-                            parameters.add(searchParameter.getDateBefore().toString());
-                            parameters.add(searchParameter.getDateAfter().toString());
-                            return "DATE(" + columnName + ") >= DATE(?) AND DATE(" + columnName + ") <= DATE(?)";
-                default:
-                    throw new IllegalArgumentException("Invalid search type");
-            }
-        } catch (Exception e) {
-            log.warn("Failed to parse date search condition: {}", e.getMessage());
-        }
-        return null;
-    }
-
     private String calculateNextMinute(String dateTimeValue) {
         // Input: "2025-09-07T09:12" -> Output: "2025-09-07T09:13:00"
         // Input: "2025-09-07T23:59" -> Output: "2025-09-08T00:00:00"
@@ -1319,46 +1474,6 @@ public class ModelService {
         return nextMinute.toString();
     }
 
-    private Object convertFromDatabase(Object value, FieldType fieldType) {
-        if (value == null) {
-            return null;
-        }
-
-        return switch (fieldType) {
-            case EMAIL, SINGLE_LINE_TEXT, MULTI_LINE_TEXT -> value.toString();
-            case DECIMAL -> {
-                if (value instanceof Number) {
-                    yield value;
-                }
-                yield new java.math.BigDecimal(value.toString());
-            }
-            case LONG -> {
-                if (value instanceof Number) {
-                    yield ((Number) value).longValue();
-                }
-                yield Long.valueOf(value.toString());
-            }
-            case BOOLEAN -> {
-                if (value instanceof Boolean) {
-                    yield value;
-                }
-                yield Boolean.parseBoolean(value.toString());
-            }
-            case DATE -> {
-                if (value instanceof java.sql.Date) {
-                    yield value.toString(); // Return as ISO date string
-                }
-                yield value.toString();
-            }
-            case DATETIME -> {
-                if (value instanceof java.sql.Timestamp) {
-                    yield ((java.sql.Timestamp) value).toInstant(); // Return as Instant for consistency
-                }
-                yield value;
-            }
-        };
-    }
-
     @Transactional
     public void linkModels(LinkModelsRequest linkModelsRequest) {
 
@@ -1416,6 +1531,9 @@ public class ModelService {
 
         log.debug("Model links foreign keys created with cascade delete");
 
+        linkCountService.createLinkCounter(linkId);
+
+        modelMetadataCache.invalidate();
     }
 
     @Transactional
@@ -1426,6 +1544,7 @@ public class ModelService {
         link.setModel1CanHaveUnlimitedModel2s(updateLinkedModelsRequest.isModel1_can_have_unlimited_model2s());
         link.setModel2CanHaveUnlimitedModel1s(updateLinkedModelsRequest.isModel2_can_have_unlimited_model1s());
         modelLinkRepository.save(link);
+        modelMetadataCache.invalidate();
     }
 
     @Transactional
@@ -1437,9 +1556,9 @@ public class ModelService {
         //Now delete the references table
         String sql = "DROP TABLE model_links_" + sanitizeIdentifier(link.getId().toString());
         jdbcTemplate.update(sql);
+        modelMetadataCache.invalidate();
     }
 
-
     @Transactional
     public void deleteField(UUID fieldId) {
         // First check if the field exists
@@ -1449,16 +1568,25 @@ public class ModelService {
         String sql = "ALTER TABLE " + "records_" + sanitizeIdentifier(modelId.toString()) + " DROP COLUMN " + "field_" + sanitizeIdentifier(fieldId.toString());
         jdbcTemplate.execute(sql);
         fieldRepository.deleteById(fieldId);
+        modelMetadataCache.invalidate();
     }
 
+    /**
+     * Adds the field and its column. Indexes asked for are built in the background once the column is committed,
+     * the field is only flagged indexed / searchable when its index exists.
+     */
     @Transactional
     public void addField(UUID modelId, FieldDto fieldDto) {
         Model model = modelRepository.findById(modelId).orElseThrow(() -> new IllegalArgumentException("Invalid field id"));
+        boolean indexed = Boolean.TRUE.equals(fieldDto.getIsIndexed());
+        boolean searchable = resolveSearchable(fieldDto);
         Field field = new Field();
         field.setDescription(fieldDto.getDescription());
         field.setName(fieldDto.getName());
         field.setIsParentField(fieldDto.getIsParentField());
         field.setIsRequired(fieldDto.getIsRequired());
+        field.setIsIndexed(false);
+        field.setIsSearchable(false);
         field.setType(fieldDto.getType());
         field.setModelId(modelId);
         fieldRepository.save(field);
@@ -1471,6 +1599,110 @@ public class ModelService {
         String columnType = mapFieldTypeToPostgresType(fieldDto.getType());
         String sql = "ALTER TABLE records_" + sanitizeIdentifier(modelId.toString()) + " ADD COLUMN field_" + sanitizeIdentifier(fieldId.toString()) + " " + columnType;
         jdbcTemplate.execute(sql);
+        modelMetadataCache.invalidate();
+
+        if (indexed || searchable) {
+            // The records table may be large, don't hold the request while the index scans it
+            TransactionUtils.runAfterCommit(() -> {
+                try {
+                    indexBuildExecutor.execute(() -> buildFieldIndexes(modelId, fieldId, indexed, searchable));
+                } catch (TaskRejectedException e) {
+                    log.error("Could not schedule the index build of field {}, it stays unindexed: {}", fieldId, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void buildFieldIndexes(UUID modelId, UUID fieldId, boolean indexed, boolean searchable) {
+        if (indexed) {
+            try {
+                recordIndexService.createFieldIndexConcurrently(modelId, fieldId);
+                updateFieldIndexFlag(fieldId, saved -> saved.setIsIndexed(true));
+            } catch (Exception e) {
+                log.error("Failed to create index for field {}: {}", fieldId, e.getMessage(), e);
+            }
+        }
+        if (searchable) {
+            try {
+                recordIndexService.createSearchIndexConcurrently(modelId, fieldId);
+                updateFieldIndexFlag(fieldId, saved -> saved.setIsSearchable(true));
+            } catch (Exception e) {
+                log.error("Failed to create search index for field {}: {}", fieldId, e.getMessage(), e);
+            }
+        }
+    }
+
+    // Runs on the index build executor, so the update needs a transaction of its own
+    private void updateFieldIndexFlag(UUID fieldId, java.util.function.Consumer<Field> setFlag) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            fieldRepository.findById(fieldId).ifPresent(field -> {
+                setFlag.accept(field);
+                fieldRepository.save(field);
+            });
+            modelMetadataCache.invalidate();
+        });
+    }
+
+    /**
+     * Builds or drops the trigram search index of a text field. Not transactional, like {@link #setFieldIndexed}.
+     */
+    public void setFieldSearchable(UUID fieldId, boolean searchable) {
+        Field field = fieldRepository.findById(fieldId).orElseThrow(() -> new IllegalArgumentException("Invalid field id"));
+        if (searchable) {
+            if (!isTextFieldType(field.getType())) {
+                throw new FrontendException("Only text and email fields can be searchable", ErrorCode.VALIDATION_EXCEPTION, true);
+            }
+            if (!recordIndexService.isTrigramAvailable()) {
+                throw new FrontendException("Search indexes are not supported by this database (pg_trgm is not installed)", ErrorCode.VALIDATION_EXCEPTION, true);
+            }
+            recordIndexService.createSearchIndexConcurrently(field.getModelId(), fieldId);
+            field.setIsSearchable(true);
+            fieldRepository.save(field);
+        } else {
+            field.setIsSearchable(false);
+            fieldRepository.save(field);
+            recordIndexService.dropSearchIndexConcurrently(fieldId);
+        }
+        modelMetadataCache.invalidate();
+    }
+
+    // Searchable is only honoured for text fields, and quietly dropped when pg_trgm is missing
+    private boolean resolveSearchable(FieldDto fieldDto) {
+        if (!Boolean.TRUE.equals(fieldDto.getIsSearchable())) {
+            return false;
+        }
+        if (!isTextFieldType(fieldDto.getType())) {
+            throw new IllegalArgumentException("Only text and email fields can be searchable: " + fieldDto.getName());
+        }
+        if (!recordIndexService.isTrigramAvailable()) {
+            log.warn("pg_trgm is not available, field {} is created without a search index", fieldDto.getName());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isTextFieldType(FieldType fieldType) {
+        return fieldType == FieldType.SINGLE_LINE_TEXT || fieldType == FieldType.MULTI_LINE_TEXT || fieldType == FieldType.EMAIL;
+    }
+
+    /**
+     * Builds or drops the (field, id) index of a field. Not transactional, as CREATE INDEX CONCURRENTLY
+     * cannot run inside a transaction block and may take a while on large tables.
+     */
+    public void setFieldIndexed(UUID fieldId, boolean indexed) {
+        Field field = fieldRepository.findById(fieldId).orElseThrow(() -> new IllegalArgumentException("Invalid field id"));
+        if (indexed) {
+            recordIndexService.createFieldIndexConcurrently(field.getModelId(), fieldId);
+            field.setIsIndexed(true);
+            fieldRepository.save(field);
+        } else {
+            field.setIsIndexed(false);
+            fieldRepository.save(field);
+            recordIndexService.dropFieldIndexConcurrently(fieldId);
+        }
+        modelMetadataCache.invalidate();
     }
 
     @Transactional
@@ -1479,6 +1711,7 @@ public class ModelService {
         model.setName(updateModelRequest.getModelName());
         model.setDescription(updateModelRequest.getModelDescription());
         modelRepository.save(model);
+        modelMetadataCache.invalidate();
     }
 
     @Transactional
@@ -1489,15 +1722,15 @@ public class ModelService {
         field.setIsRequired(updateFieldRequest.isRequired());
         field.setDescription(updateFieldRequest.getDescription());
         fieldRepository.save(field);
+        modelMetadataCache.invalidate();
     }
 
     @Transactional(readOnly = true)
     public GetModelLinksResponse getModelLinks() {
         GetModelLinksResponse response = new GetModelLinksResponse();
-        List<ModelLink> links = new ArrayList<>();
-        modelLinkRepository.findAll().forEach(link -> links.add(link));
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
         List<ModelLinkDto> modelLinkDtos = new ArrayList<>();
-        for (ModelLink link : links) {
+        for (ModelLink link : catalog.getModelLinks()) {
             ModelLinkDto modelLinkDto = new ModelLinkDto();
             modelLinkDto.setModelLinkId(link.getId());
             modelLinkDto.setModel1Id(link.getModel1Id());
@@ -1507,9 +1740,9 @@ public class ModelService {
             modelLinkDto.setModel1_can_have_unlimited_model2s(link.isModel1CanHaveUnlimitedModel2s());
             modelLinkDto.setModel2_can_have_unlimited_model1s(link.isModel2CanHaveUnlimitedModel1s());
             // Get individual model Info
-            Model model = modelRepository.findById(modelLinkDto.getModel1Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
+            Model model = catalog.findModel(modelLinkDto.getModel1Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
             modelLinkDto.setModel1Name(model.getName());
-            model = modelRepository.findById(modelLinkDto.getModel2Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
+            model = catalog.findModel(modelLinkDto.getModel2Id()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
             modelLinkDto.setModel2Name(model.getName());
             modelLinkDtos.add(modelLinkDto);
         }
@@ -1525,7 +1758,6 @@ public class ModelService {
     @Transactional
     public void linkRecords(UUID userId, LinkRecordsRequest request, boolean doPermissionsCheck) {
 
-
         // Perform permissions check
         if (doPermissionsCheck) {
             if (!userHasGivenPermissionOnModel(userId, request.getSourceModelId(), ModelPermission.VIEW_RECORDS)) {
@@ -1534,12 +1766,12 @@ public class ModelService {
             }
         }
 
-
         UUID modelLinkId = request.getModelLinkId();
 
         //Check if source model ID exists
-        Model sourceModel = modelRepository.findById(request.getSourceModelId()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
-        ModelLink modelLink = modelLinkRepository.findById(modelLinkId).orElseThrow(() -> new IllegalArgumentException("Invalid model link id"));
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        Model sourceModel = catalog.findModel(request.getSourceModelId()).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
+        ModelLink modelLink = catalog.findModelLink(modelLinkId).orElseThrow(() -> new IllegalArgumentException("Invalid model link id"));
 
         UUID targetModelId;
         int sourceRecord;
@@ -1562,7 +1794,7 @@ public class ModelService {
         }
 
         //Check if target model exists
-        Model targetModel = modelRepository.findById(targetModelId).orElseThrow(() -> new IllegalArgumentException("Target Model not found"));
+        Model targetModel = catalog.findModel(targetModelId).orElseThrow(() -> new IllegalArgumentException("Target Model not found"));
 
         //CHeck if source record exists
         String sourceTable = "records_" + sanitizeIdentifier(sourceModel.getId().toString());
@@ -1574,8 +1806,8 @@ public class ModelService {
         }
 
         //CHeck if target record exists
-        String targetTable = "records_" + sanitizeIdentifier(sourceModel.getId().toString());
-        UUID targetRecordId = request.getSourceRecordId();
+        String targetTable = "records_" + sanitizeIdentifier(targetModel.getId().toString());
+        UUID targetRecordId = request.getTargetRecordId();
         String sqlTargetExist = "SELECT EXISTS(SELECT 1 FROM " + targetTable + " WHERE id = ?)";
         Boolean targetExists = jdbcTemplate.queryForObject(sqlTargetExist, Boolean.class, targetRecordId);
         if (!Boolean.TRUE.equals(targetExists)) {
@@ -1599,25 +1831,240 @@ public class ModelService {
                 throw new IllegalArgumentException("");
         }
 
+        lockLinkedRecords(modelLink, List.of(record1), List.of(record2));
+
         //Check if records are already linked
         String sqlExist = "SELECT EXISTS(SELECT 1 FROM " + tableName + " WHERE record1_id = ? AND record2_id = ?)";
         Boolean exists = jdbcTemplate.queryForObject(sqlExist, Boolean.class, record1, record2);
         if (Boolean.TRUE.equals(exists)) {
             throw new FrontendException("Records are already linked", true);
         }
-        sql = "INSERT INTO " + tableName + " (record1_id, record2_id) VALUES " +
-                "('" + record1 + "','" + record2 + "')";
+        sql = "INSERT INTO " + tableName + " (record1_id, record2_id) VALUES (?, ?)";
+        jdbcTemplate.update(sql, record1, record2);
 
-        jdbcTemplate.execute(sql);
+        checkLinkLimits(modelLink, tableName, List.of(record1), List.of(record2));
+    }
+
+    /**
+     * Links all pairs of the request with a single INSERT. Pairs that are already linked are skipped.
+     * Source and target records are each checked with one = ANY(?) query.
+     */
+    @Transactional
+    public BulkLinkRecordsResponse linkRecordsBulk(UUID userId, BulkLinkRecordsRequest request) {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        BulkLinkPairs pairs = resolveBulkLinkPairs(userId, request, catalog);
+
+        String sourceTable = "records_" + sanitizeIdentifier(pairs.sourceModelId().toString());
+        String targetTable = "records_" + sanitizeIdentifier(pairs.targetModelId().toString());
+        checkRecordsExist(sourceTable, pairs.sourceRecordIds(), "Source record does not exist: ");
+        checkRecordsExist(targetTable, pairs.targetRecordIds(), "Target record does not exist: ");
+
+        lockLinkedRecords(pairs.modelLink(), pairs.record1Ids(), pairs.record2Ids());
+        String sql = "INSERT INTO " + pairs.tableName() + " (record1_id, record2_id) " +
+                "SELECT * FROM unnest(?::uuid[], ?::uuid[]) ON CONFLICT (record1_id, record2_id) DO NOTHING";
+        int linked = updateWithUuidArrays(sql, pairs.record1Ids(), pairs.record2Ids());
+        checkLinkLimits(pairs.modelLink(), pairs.tableName(), pairs.record1Ids(), pairs.record2Ids());
+
+        BulkLinkRecordsResponse response = new BulkLinkRecordsResponse();
+        response.setRequestedCount(pairs.record1Ids().size());
+        response.setChangedCount(linked);
+        return response;
     }
 
+    /**
+     * Unlinks all pairs of the request with a single DELETE. Pairs that are not linked are ignored.
+     */
+    @Transactional
+    public BulkLinkRecordsResponse unlinkRecordsBulk(UUID userId, BulkLinkRecordsRequest request) {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        BulkLinkPairs pairs = resolveBulkLinkPairs(userId, request, catalog);
+
+        String sql = "DELETE FROM " + pairs.tableName() + " l USING unnest(?::uuid[], ?::uuid[]) AS p(record1_id, record2_id) " +
+                "WHERE l.record1_id = p.record1_id AND l.record2_id = p.record2_id";
+        int unlinked = updateWithUuidArrays(sql, pairs.record1Ids(), pairs.record2Ids());
+
+        BulkLinkRecordsResponse response = new BulkLinkRecordsResponse();
+        response.setRequestedCount(pairs.record1Ids().size());
+        response.setChangedCount(unlinked);
+        return response;
+    }
+
+    private record BulkLinkPairs(ModelLink modelLink, String tableName, UUID sourceModelId, UUID targetModelId,
+                                 List<UUID> record1Ids, List<UUID> record2Ids,
+                                 Set<UUID> sourceRecordIds, Set<UUID> targetRecordIds) {
+    }
+
+    // Checks permissions and turns the request into distinct (record1_id, record2_id) pairs of the link table
+    private BulkLinkPairs resolveBulkLinkPairs(UUID userId, BulkLinkRecordsRequest request, ModelCatalog catalog) {
+        UUID sourceModelId = request.getSourceModelId();
+        catalog.findModel(sourceModelId).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
+        ModelLink modelLink = catalog.findModelLink(request.getModelLinkId()).orElseThrow(() -> new IllegalArgumentException("Invalid model link id"));
+
+        boolean sourceIsModel1;
+        UUID targetModelId;
+        if (modelLink.getModel1Id().equals(sourceModelId)) {
+            sourceIsModel1 = true;
+            targetModelId = modelLink.getModel2Id();
+        } else if (modelLink.getModel2Id().equals(sourceModelId)) {
+            sourceIsModel1 = false;
+            targetModelId = modelLink.getModel1Id();
+        } else {
+            throw new IllegalArgumentException("Invalid model Id");
+        }
+
+        if (!userHasGivenPermissionOnModel(userId, sourceModelId, ModelPermission.VIEW_RECORDS)) {
+            log.error("User does not have permission to link records: Permissions Needed: VIEW records on model with ID: [" + sourceModelId + "]");
+            throw new FrontendException("VIEW permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
+        if (!userHasGivenPermissionOnModel(userId, targetModelId, ModelPermission.VIEW_RECORDS)) {
+            log.error("User does not have permission to link records: Permissions Needed: VIEW records on model with ID: [" + targetModelId + "]");
+            throw new FrontendException("VIEW permission required", ErrorCode.PERMISSION_DENIED, true);
+        }
+
+        List<LinkedRecordPair> requestPairs = new ArrayList<>(request.getPairs());
+        if (!request.getTargetRecordIds().isEmpty()) {
+            if (request.getSourceRecordId() == null) {
+                throw new FrontendException("sourceRecordId is required with targetRecordIds", true);
+            }
+            for (UUID targetRecordId : request.getTargetRecordIds()) {
+                if (targetRecordId == null) {
+                    throw new FrontendException("targetRecordIds cannot contain null", true);
+                }
+                LinkedRecordPair pair = new LinkedRecordPair();
+                pair.setSourceRecordId(request.getSourceRecordId());
+                pair.setTargetRecordId(targetRecordId);
+                requestPairs.add(pair);
+            }
+        }
+        if (requestPairs.isEmpty()) {
+            throw new FrontendException("No records to link", true);
+        }
+        if (requestPairs.size() > MAX_BULK_LINK_PAIRS) {
+            throw new FrontendException("A request can link at most " + MAX_BULK_LINK_PAIRS + " record pairs", true);
+        }
+
+        Set<LinkedRecordPair> distinctPairs = new LinkedHashSet<>(requestPairs);
+        List<UUID> record1Ids = new ArrayList<>(distinctPairs.size());
+        List<UUID> record2Ids = new ArrayList<>(distinctPairs.size());
+        Set<UUID> sourceRecordIds = new HashSet<>();
+        Set<UUID> targetRecordIds = new HashSet<>();
+        for (LinkedRecordPair pair : distinctPairs) {
+            record1Ids.add(sourceIsModel1 ? pair.getSourceRecordId() : pair.getTargetRecordId());
+            record2Ids.add(sourceIsModel1 ? pair.getTargetRecordId() : pair.getSourceRecordId());
+            sourceRecordIds.add(pair.getSourceRecordId());
+            targetRecordIds.add(pair.getTargetRecordId());
+        }
+
+        String tableName = "model_links_" + sanitizeIdentifier(modelLink.getId().toString());
+        return new BulkLinkPairs(modelLink, tableName, sourceModelId, targetModelId, record1Ids, record2Ids, sourceRecordIds, targetRecordIds);
+    }
+
+    /**
+     * Takes a transaction scoped advisory lock per record on each side of the link that has a limit,
+     * so concurrent requests linking the same record are serialized until the limit check has committed.
+     * Keys are locked in sorted order, so requests locking overlapping sets of records cannot deadlock.
+     */
+    private void lockLinkedRecords(ModelLink modelLink, Collection<UUID> record1Ids, Collection<UUID> record2Ids) {
+        TreeSet<Long> lockKeys = new TreeSet<>();
+        if (hasModel1LinkLimit(modelLink)) {
+            record1Ids.forEach(recordId -> lockKeys.add(linkLockKey(modelLink.getId(), 1, recordId)));
+        }
+        if (hasModel2LinkLimit(modelLink)) {
+            record2Ids.forEach(recordId -> lockKeys.add(linkLockKey(modelLink.getId(), 2, recordId)));
+        }
+        if (lockKeys.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_xact_lock(k) FROM unnest(?::bigint[]) AS t(k)");
+            ps.setArray(1, connection.createArrayOf("bigint", lockKeys.toArray()));
+            return ps;
+        }, rs -> {
+        });
+    }
+
+    // Collisions between keys only make unrelated requests wait for each other
+    private long linkLockKey(UUID modelLinkId, int side, UUID recordId) {
+        long hash = modelLinkId.getMostSignificantBits() ^ modelLinkId.getLeastSignificantBits();
+        hash = hash * 31 + side;
+        return hash * 31 + (recordId.getMostSignificantBits() ^ recordId.getLeastSignificantBits());
+    }
+
+    private boolean hasModel1LinkLimit(ModelLink modelLink) {
+        return !modelLink.isModel1CanHaveUnlimitedModel2s() && modelLink.getModel1CanHaveSoManyModel2sCount() != null;
+    }
+
+    private boolean hasModel2LinkLimit(ModelLink modelLink) {
+        return !modelLink.isModel2CanHaveUnlimitedModel1s() && modelLink.getModel2CanHaveSoManyModel1sCount() != null;
+    }
+
+    /**
+     * Checks the link limits of the given records after new links were inserted, with one grouped count per limited side.
+     * Must run after {@link #lockLinkedRecords}, in the same transaction.
+     */
+    private void checkLinkLimits(ModelLink modelLink, String tableName, Collection<UUID> record1Ids, Collection<UUID> record2Ids) {
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        if (hasModel1LinkLimit(modelLink)) {
+            String targetModelName = catalog.findModel(modelLink.getModel2Id()).map(Model::getName).orElse("");
+            checkLinkLimit(tableName, "record1_id", record1Ids, modelLink.getModel1CanHaveSoManyModel2sCount(), targetModelName);
+        }
+        if (hasModel2LinkLimit(modelLink)) {
+            String targetModelName = catalog.findModel(modelLink.getModel1Id()).map(Model::getName).orElse("");
+            checkLinkLimit(tableName, "record2_id", record2Ids, modelLink.getModel2CanHaveSoManyModel1sCount(), targetModelName);
+        }
+    }
+
+    private void checkLinkLimit(String tableName, String columnName, Collection<UUID> recordIds, long limit, String targetModelName) {
+        String sql = "SELECT " + columnName + " FROM " + tableName + " WHERE " + columnName + " = ANY(?) GROUP BY " + columnName + " HAVING count(*) > ? LIMIT 1";
+        List<UUID> overLimit = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("uuid", new HashSet<>(recordIds).toArray()));
+            ps.setLong(2, limit);
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+        if (!overLimit.isEmpty()) {
+            throw new FrontendException("Record " + overLimit.get(0) + " can be linked to at most " + limit + " " + targetModelName + " record(s)",
+                    ErrorCode.LINK_LIMIT_EXCEEDED, true);
+        }
+    }
+
+    private void checkRecordsExist(String tableName, Set<UUID> recordIds, String message) {
+        Set<UUID> existingIds = new HashSet<>(queryForUuids("SELECT id FROM " + tableName + " WHERE id = ANY(?)", recordIds));
+        for (UUID recordId : recordIds) {
+            if (!existingIds.contains(recordId)) {
+                throw new IllegalArgumentException(message + recordId);
+            }
+        }
+    }
+
+    private int updateWithUuidArrays(String sql, List<UUID> first, List<UUID> second) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("uuid", first.toArray()));
+            ps.setArray(2, connection.createArrayOf("uuid", second.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Counts the records linked to the given record for every model link of the model.
+     * All link tables are counted in a single UNION ALL query, so this is one round trip regardless of the number of links.
+     */
     @Transactional(readOnly = true)
     public List<LinkedRecordCount> getLinkedRecordCounts(UUID sourceModelId, UUID sourceRecordId) {
-        List<ModelLink> modelLinks = modelLinkRepository.findByEitherModelId(sourceModelId);
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        List<ModelLink> modelLinks = catalog.getModelLinks(sourceModelId);
         List <LinkedRecordCount> linkedRecordCounts = new ArrayList<>();
-        UUID targetModelId;
-        int record;
-        for (ModelLink modelLink : modelLinks) {
+        if (modelLinks.isEmpty()) {
+            return linkedRecordCounts;
+        }
+
+        StringBuilder sql = new StringBuilder();
+        Object[] params = new Object[modelLinks.size()];
+        for (int i = 0; i < modelLinks.size(); i++) {
+            ModelLink modelLink = modelLinks.get(i);
+            UUID targetModelId;
+            int record;
             if (modelLink.getModel1Id().equals(sourceModelId)) {
                 targetModelId = modelLink.getModel2Id();
                 record = 1;
@@ -1627,18 +2074,27 @@ public class ModelService {
             } else {
                 throw new IllegalArgumentException("Invalid model id");
             }
-            Model targetModel = modelRepository.findById(targetModelId).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
-            String sql = "SELECT count(*) FROM model_links_" + sanitizeIdentifier(modelLink.getId().toString()) +
-                    " WHERE record" + record + "_id = ?";
+            Model targetModel = catalog.findModel(targetModelId).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
 
-            long count = jdbcTemplate.queryForObject(sql, Long.class, sourceRecordId);
+            if (i > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT ").append(i).append(" AS link_index, count(*) AS record_count FROM model_links_")
+                    .append(sanitizeIdentifier(modelLink.getId().toString()))
+                    .append(" WHERE record").append(record).append("_id = ?");
+            params[i] = sourceRecordId;
 
             LinkedRecordCount linkedRecordCount = new LinkedRecordCount();
+            linkedRecordCount.setLinkId(modelLink.getId());
             linkedRecordCount.setTargetModelName(targetModel.getName());
             linkedRecordCount.setTargetModelId(targetModelId);
-            linkedRecordCount.setRecordCount(count);
+            linkedRecordCount.setRecordCount(0L);
             linkedRecordCounts.add(linkedRecordCount);
         }
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            linkedRecordCounts.get(rs.getInt("link_index")).setRecordCount(rs.getLong("record_count"));
+        }, params);
         return linkedRecordCounts;
     }
 
@@ -1647,8 +2103,6 @@ public class ModelService {
         //Validate model id
         modelRepository.findById(modelId).orElseThrow(() -> new IllegalArgumentException("Model not found"));
 
-
-
         List<LinkedRecordCount> linkedRecordCounts = getLinkedRecordCounts(modelId);
         for (LinkedRecordCount linkedRecordCount : linkedRecordCounts) {
             // Check if records are linked to model, unless force is true
@@ -1673,6 +2127,7 @@ public class ModelService {
         {
             String sql = "DROP TABLE records_" + sanitizeIdentifier(modelId.toString());
             jdbcTemplate.execute(sql);
+            recordCountService.evict("records_" + sanitizeIdentifier(modelId.toString()));
         }
 
         //Delete the fields from fields table
@@ -1685,11 +2140,18 @@ public class ModelService {
         String sql = "DELETE FROM models WHERE id = ?";
         jdbcTemplate.update(sql, modelId);
 
+        modelMetadataCache.invalidate();
     }
 
+    /**
+     * Returns the number of linked record pairs of every model link of the model.
+     * Reads the trigger maintained counters, so no link table is scanned.
+     */
     @Transactional(readOnly = true)
     public List<LinkedRecordCount> getLinkedRecordCounts(UUID sourceModelId) {
-        List<ModelLink> modelLinks = modelLinkRepository.findByEitherModelId(sourceModelId);
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
+        List<ModelLink> modelLinks = catalog.getModelLinks(sourceModelId);
+        Map<UUID, Long> linkCounts = modelLinks.isEmpty() ? Map.of() : linkCountService.getLinkCounts();
         List <LinkedRecordCount> linkedRecordCounts = new ArrayList<>();
         UUID targetModelId;
         for (ModelLink modelLink : modelLinks) {
@@ -1700,10 +2162,8 @@ public class ModelService {
             } else {
                 throw new IllegalArgumentException("Invalid model id");
             }
-            Model targetModel = modelRepository.findById(targetModelId).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
-            String sql = "SELECT count(*) FROM model_links_" + sanitizeIdentifier(modelLink.getId().toString());
-
-            long count = jdbcTemplate.queryForObject(sql, Long.class);
+            Model targetModel = catalog.findModel(targetModelId).orElseThrow(() -> new IllegalArgumentException("Invalid model id"));
+            long count = linkCounts.getOrDefault(modelLink.getId(), 0L);
 
             LinkedRecordCount linkedRecordCount = new LinkedRecordCount();
             linkedRecordCount.setLinkId(modelLink.getId());
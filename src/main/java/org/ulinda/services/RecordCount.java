@@ -0,0 +1,13 @@
+package org.ulinda.services;
+
+import org.ulinda.enums.CountStrategy;
+
+/**
+ * A record total together with the strategy that actually produced it.
+ */
+public record RecordCount(long count, CountStrategy strategy) {
+
+    public static RecordCount none() {
+        return new RecordCount(-1L, CountStrategy.NONE);
+    }
+}
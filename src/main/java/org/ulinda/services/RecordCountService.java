@@ -0,0 +1,74 @@
+package org.ulinda.services;
+
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.ulinda.enums.CountStrategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes total record counts of records tables using the requested {@link CountStrategy}.
+ */
+@Service
+@Slf4j
+public class RecordCountService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordMetrics recordMetrics;
+
+    @Value("${ulinda.record-count-cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private record CachedCount(long count, long expiresAtMillis) {
+    }
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    public RecordCount countRecords(String tableName, CountStrategy strategy) {
+        CountStrategy countStrategy = strategy != null ? strategy : CountStrategy.EXACT;
+        return recordMetrics.time(RecordMetrics.COUNT_RECORDS, Tags.of("strategy", countStrategy.name()), () -> switch (countStrategy) {
+            case EXACT -> new RecordCount(exactCount(tableName), CountStrategy.EXACT);
+            case ESTIMATE -> estimatedCount(tableName);
+            case CACHED -> cachedCount(tableName);
+            case NONE -> RecordCount.none();
+        });
+    }
+
+    private long exactCount(String tableName) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tableName, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private RecordCount estimatedCount(String tableName) {
+        Long estimate = jdbcTemplate.queryForObject("SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, tableName);
+        if (estimate == null || estimate < 0) {
+            // Table was never analyzed, there is nothing to estimate from yet
+            log.debug("No row estimate for table {}, counting exactly", tableName);
+            return new RecordCount(exactCount(tableName), CountStrategy.EXACT);
+        }
+        return new RecordCount(estimate, CountStrategy.ESTIMATE);
+    }
+
+    private RecordCount cachedCount(String tableName) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cachedCounts.get(tableName);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return new RecordCount(cached.count(), CountStrategy.CACHED);
+        }
+        long count = exactCount(tableName);
+        cachedCounts.put(tableName, new CachedCount(count, now + cacheTtlSeconds * 1000));
+        return new RecordCount(count, CountStrategy.EXACT);
+    }
+
+    public void evict(String tableName) {
+        cachedCounts.remove(tableName);
+    }
+}
@@ -0,0 +1,178 @@
+package org.ulinda.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates and drops the indexes on records_ tables.
+ * Sort indexes are composite (column, id) btrees so keyset pagination (ORDER BY column, id) is an index range scan.
+ * Search indexes are pg_trgm GIN indexes, which serve the ILIKE '%...%' predicates of text searches.
+ * A failed CREATE INDEX CONCURRENTLY leaves an INVALID index behind that IF NOT EXISTS would silently accept,
+ * so concurrent builds drop the index again on failure and rebuild indexes found invalid.
+ */
+@Service
+@Slf4j
+public class RecordIndexService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private volatile Boolean trigramAvailable;
+
+    /**
+     * Creates the created_at / updated_at indexes of a new records table. Runs inside the caller's transaction.
+     */
+    public void createDefaultIndexes(UUID modelId) {
+        jdbcTemplate.execute(createIndexSql(defaultIndexName(modelId, "created_at"), modelId, "created_at", false));
+        jdbcTemplate.execute(createIndexSql(defaultIndexName(modelId, "updated_at"), modelId, "updated_at", false));
+    }
+
+    /**
+     * Creates the created_at / updated_at indexes of an existing records table without blocking writes.
+     */
+    public void createDefaultIndexesConcurrently(UUID modelId) {
+        createIndexConcurrently(defaultIndexName(modelId, "created_at"), createIndexSql(defaultIndexName(modelId, "created_at"), modelId, "created_at", true));
+        createIndexConcurrently(defaultIndexName(modelId, "updated_at"), createIndexSql(defaultIndexName(modelId, "updated_at"), modelId, "updated_at", true));
+    }
+
+    /**
+     * Creates a field index inside the caller's transaction. Only use it for tables that were just created.
+     */
+    public void createFieldIndex(UUID modelId, UUID fieldId) {
+        jdbcTemplate.execute(createIndexSql(fieldIndexName(fieldId), modelId, fieldColumnName(fieldId), false));
+    }
+
+    /**
+     * Builds a field index with CREATE INDEX CONCURRENTLY, so writes to the records table are not blocked.
+     * Uses its own connection, since CONCURRENTLY cannot run inside a transaction block.
+     */
+    public void createFieldIndexConcurrently(UUID modelId, UUID fieldId) {
+        createIndexConcurrently(fieldIndexName(fieldId), createIndexSql(fieldIndexName(fieldId), modelId, fieldColumnName(fieldId), true));
+    }
+
+    public void dropFieldIndexConcurrently(UUID fieldId) {
+        executeOutsideTransaction("DROP INDEX CONCURRENTLY IF EXISTS " + fieldIndexName(fieldId));
+    }
+
+    /**
+     * Returns true when the pg_trgm extension is installed, trying to install it on first use.
+     * The result is cached for the lifetime of the process.
+     */
+    public boolean isTrigramAvailable() {
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            try {
+                executeOutsideTransaction("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            } catch (Exception e) {
+                log.warn("Could not install the pg_trgm extension: {}", e.getMessage());
+            }
+            Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class);
+            available = count != null && count > 0;
+            if (!available) {
+                log.warn("pg_trgm is not available, text searches will not use an index");
+            }
+            trigramAvailable = available;
+        }
+        return available;
+    }
+
+    /**
+     * Creates a trigram search index inside the caller's transaction. Only use it for tables that were just created.
+     */
+    public void createSearchIndex(UUID modelId, UUID fieldId) {
+        jdbcTemplate.execute(createSearchIndexSql(modelId, fieldId, false));
+    }
+
+    public void createSearchIndexConcurrently(UUID modelId, UUID fieldId) {
+        createIndexConcurrently(searchIndexName(fieldId), createSearchIndexSql(modelId, fieldId, true));
+    }
+
+    public void dropSearchIndexConcurrently(UUID fieldId) {
+        executeOutsideTransaction("DROP INDEX CONCURRENTLY IF EXISTS " + searchIndexName(fieldId));
+    }
+
+    private String createSearchIndexSql(UUID modelId, UUID fieldId, boolean concurrently) {
+        return "CREATE INDEX " + (concurrently ? "CONCURRENTLY " : "") + "IF NOT EXISTS " + searchIndexName(fieldId) +
+                " ON records_" + sanitizeIdentifier(modelId.toString()) + " USING GIN (" + fieldColumnName(fieldId) + " gin_trgm_ops)";
+    }
+
+    private String createIndexSql(String indexName, UUID modelId, String columnName, boolean concurrently) {
+        return "CREATE INDEX " + (concurrently ? "CONCURRENTLY " : "") + "IF NOT EXISTS " + indexName +
+                " ON records_" + sanitizeIdentifier(modelId.toString()) + " USING BTREE (" + columnName + ", id)";
+    }
+
+    /**
+     * Runs a CREATE INDEX CONCURRENTLY IF NOT EXISTS. A valid index is left alone, an invalid one (from an earlier
+     * failed build) is dropped and rebuilt, and when the build fails the invalid index it leaves is dropped.
+     */
+    private void createIndexConcurrently(String indexName, String createSql) {
+        Boolean valid = indexValid(indexName);
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            log.warn("Index {} is invalid, rebuilding it", indexName);
+            executeOutsideTransaction("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+        }
+        try {
+            executeOutsideTransaction(createSql);
+        } catch (RuntimeException e) {
+            try {
+                executeOutsideTransaction("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+            } catch (RuntimeException dropException) {
+                log.error("Could not drop invalid index {}: {}", indexName, dropException.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    // pg_index.indisvalid of the index in the current schema, or null when there is no such index
+    private Boolean indexValid(String indexName) {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT i.indisvalid FROM pg_class c JOIN pg_index i ON i.indexrelid = c.oid " +
+                        "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace", Boolean.class, indexName);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+
+    private void executeOutsideTransaction(String sql) {
+        log.debug("Executing index statement: {}", sql);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to execute index statement: " + e.getMessage(), e);
+        }
+    }
+
+    private String defaultIndexName(UUID modelId, String columnName) {
+        return "idx_records_" + sanitizeIdentifier(modelId.toString()) + "_" + columnName;
+    }
+
+    private String fieldIndexName(UUID fieldId) {
+        return "idx_field_" + sanitizeIdentifier(fieldId.toString());
+    }
+
+    private String searchIndexName(UUID fieldId) {
+        return "idx_field_" + sanitizeIdentifier(fieldId.toString()) + "_trgm";
+    }
+
+    private String fieldColumnName(UUID fieldId) {
+        return "field_" + sanitizeIdentifier(fieldId.toString());
+    }
+
+    private String sanitizeIdentifier(String identifier) {
+        return identifier.replaceAll("-", "_").replaceAll("[^a-zA-Z0-9_]", "");
+    }
+}
@@ -0,0 +1,89 @@
+package org.ulinda.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.ulinda.dto.GetRecordsRequest;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer timers of the record hot paths, scraped from /actuator/prometheus.
+ * The ulinda.records.* timers only carry low cardinality tags (query shape, outcome), so they can publish histograms.
+ * A per model breakdown is an opt-in, separate timer without histogram and with only the model and operation tags:
+ * its series grow with the number of models.
+ */
+@Service
+public class RecordMetrics {
+
+    public static final String GET_RECORDS = "ulinda.records.get";
+    public static final String CREATE_RECORD = "ulinda.records.create";
+    public static final String UPDATE_RECORD = "ulinda.records.update";
+    public static final String LINK_RECORDS = "ulinda.records.link";
+    public static final String COUNT_RECORDS = "ulinda.records.count";
+    public static final String MODEL_REQUESTS = "ulinda.model.requests";
+
+    private static final String RECORD_TIMER_PREFIX = "ulinda.records.";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean modelTimersEnabled;
+
+    public RecordMetrics(MeterRegistry meterRegistry,
+                         @Value("${ulinda.metrics.model-timers.enabled:false}") boolean modelTimersEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.modelTimersEnabled = modelTimersEnabled;
+    }
+
+    public <T> T timeGetRecords(UUID modelId, GetRecordsRequest request, Supplier<T> work) {
+        Tags tags = Tags.of(
+                "queryType", String.valueOf(request.getQueryType()),
+                "search", String.valueOf(!request.getSearchParameters().isEmpty()),
+                "cursor", String.valueOf(StringUtils.hasText(request.getCursor())));
+        return time(GET_RECORDS, tags, modelId, work);
+    }
+
+    public <T> T time(String name, UUID modelId, Supplier<T> work) {
+        return time(name, Tags.empty(), modelId, work);
+    }
+
+    public static Tags linkTags(boolean bulk) {
+        return Tags.of("bulk", String.valueOf(bulk));
+    }
+
+    public void time(String name, Tags tags, UUID modelId, Runnable work) {
+        time(name, tags, modelId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T time(String name, Tags tags, UUID modelId, Supplier<T> work) {
+        if (!modelTimersEnabled) {
+            return time(name, tags, work);
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return time(name, tags, work);
+        } finally {
+            sample.stop(meterRegistry.timer(MODEL_REQUESTS,
+                    "model", String.valueOf(modelId),
+                    "operation", name.substring(RECORD_TIMER_PREFIX.length())));
+        }
+    }
+
+    public <T> T time(String name, Tags tags, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer(name, tags.and("outcome", outcome)));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.ulinda.services;
+
+import org.ulinda.dto.CursorInfo;
+import org.ulinda.entities.Field;
+
+import java.util.List;
+
+/**
+ * A validated records query, shared by paged searches and exports.
+ *
+ * @param fields          fields of the queried model, in column order
+ * @param tableName       records table being queried
+ * @param sortField       validated sort field (system column name or field UUID)
+ * @param sortOrder       validated sort order as requested (ASC or DESC)
+ * @param cursorInfo      decoded cursor, or null for the first page
+ * @param template        compiled SQL
+ * @param parameters      bind values of the link join and search conditions, without cursor values and limit
+ */
+public record RecordQuery(List<Field> fields,
+                          String tableName,
+                          String sortField,
+                          String sortOrder,
+                          CursorInfo cursorInfo,
+                          RecordQueryTemplate template,
+                          List<Object> parameters) {
+}
@@ -0,0 +1,53 @@
+package org.ulinda.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.ulinda.dto.CacheStatsDto;
+import org.ulinda.utils.LruCache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU of compiled getRecords queries.
+ * The catalog version is part of the key, so templates compiled against old field definitions are never reused
+ * and simply age out.
+ */
+@Service
+@Slf4j
+public class RecordQueryCache {
+
+    private final LruCache<RecordQueryKey, RecordQueryTemplate> templates;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RecordQueryCache(@Value("${ulinda.record-query-cache.max-size:512}") int maxSize) {
+        this.templates = new LruCache<>(maxSize);
+    }
+
+    public RecordQueryTemplate getTemplate(RecordQueryKey key, Function<RecordQueryKey, RecordQueryTemplate> compiler) {
+        RecordQueryTemplate template = templates.get(key);
+        if (template != null) {
+            hits.increment();
+            return template;
+        }
+        misses.increment();
+        template = compiler.apply(key);
+        templates.put(key, template);
+        return template;
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+
+    public CacheStatsDto getStats() {
+        CacheStatsDto stats = new CacheStatsDto();
+        stats.setName("record-query-templates");
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setSize(templates.size());
+        return stats;
+    }
+}
@@ -0,0 +1,281 @@
+package org.ulinda.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ulinda.dto.SearchFieldIdentifier;
+import org.ulinda.dto.SearchParameter;
+import org.ulinda.dto.SearchType;
+import org.ulinda.entities.Field;
+import org.ulinda.enums.QueryType;
+import org.ulinda.enums.SearchFieldType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the getRecords SQL for a {@link RecordQueryKey}. Pure string building, results are cached by {@link RecordQueryCache}.
+ * Search parameters are split in two: {@link #bindSearchParameter} runs per request and only collects bind values,
+ * the search conditions are validated and built here, once per query shape.
+ */
+@Slf4j
+public class RecordQueryCompiler {
+
+    /**
+     * Compiles the query. Throws IllegalArgumentException for searches that do not fit the searched column.
+     *
+     * @param fields fields of the queried model, in column order
+     */
+    public static RecordQueryTemplate compile(RecordQueryKey key, List<Field> fields) {
+        String tableName = "records_" + sanitizeIdentifier(key.modelId().toString());
+        boolean linkedQuery = key.queryType() == QueryType.LINKED_RECORDS || key.queryType() == QueryType.RECORDS_NOT_LINKED;
+
+        // FROM and WHERE are shared by the page query and the count query
+        StringBuilder fromSql = new StringBuilder();
+        fromSql.append(" FROM ");
+        appendQuotedIdentifier(fromSql, tableName);
+        fromSql.append(" r ");
+
+        //Now join the linked records table
+        if (linkedQuery) {
+            String modelLinkTablename = "model_links_" + sanitizeIdentifier(key.modelLinkId().toString());
+            int linkedSourceRecordNumber = key.linkedSourceRecordNumber();
+            int linkedTargetRecordNumber = linkedSourceRecordNumber == 1 ? 2 : 1;
+            if (key.queryType() == QueryType.LINKED_RECORDS) {
+                fromSql.append(" JOIN " + modelLinkTablename + " ml ");
+                fromSql.append(" ON ml.record" + linkedTargetRecordNumber + "_id = r.id AND ml.record" + linkedSourceRecordNumber + "_id = ? ");
+            } else {
+                fromSql.append(" LEFT JOIN " + modelLinkTablename + " ml ON ml.record" + linkedTargetRecordNumber + "_id = r.id AND ml.record" + linkedSourceRecordNumber + "_id = ? ");
+            }
+        }
+
+        // Build WHERE clause
+        fromSql.append(" WHERE r.").append(key.sortColumn()).append(" IS NOT NULL ");
+
+        if (key.queryType() == QueryType.RECORDS_NOT_LINKED) {
+            fromSql.append(" AND ml.record" + key.linkedSourceRecordNumber() + "_id IS NULL ");
+        }
+
+        if (!key.searches().isEmpty()) {
+            List<String> searchConditions = new ArrayList<>(key.searches().size());
+            for (RecordSearchKey search : key.searches()) {
+                searchConditions.add(buildSearchCondition(search, fields));
+            }
+            fromSql.append(" AND ");
+            fromSql.append(String.join(" AND ", searchConditions));
+        }
+
+        // Build the SELECT query
+        StringBuilder querySql = new StringBuilder();
+        querySql.append(SlowQueryService.RECORD_READ_TAG).append("SELECT r.id, r.created_at, r.updated_at");
+
+        if (key.queryType() == QueryType.LINKED_RECORDS) {
+            querySql.append(", ml.id as link_id");
+        }
+
+        // Add field columns to SELECT
+        for (Field field : fields) {
+            String columnName = "field_" + sanitizeIdentifier(field.getId().toString());
+            querySql.append(", r.");
+            appendQuotedIdentifier(querySql, columnName);
+        }
+
+        querySql.append(fromSql);
+
+        String sortColumn = key.sortColumn();
+        String sortOrder = key.sortOrder();
+        if (key.hasCursor()) {
+            querySql.append(" AND ");
+            if ("DESC".equalsIgnoreCase(sortOrder)) {
+                // For DESC: (sort_field < cursor_value) OR (sort_field = cursor_value AND id < cursor_id)
+                querySql.append("(r.").append(sortColumn).append(" < ?");
+                querySql.append(" OR (r.").append(sortColumn).append(" = ? AND r.id < ?))");
+            } else {
+                // For ASC: (sort_field > cursor_value) OR (sort_field = cursor_value AND id > cursor_id)
+                querySql.append("(r.").append(sortColumn).append(" > ?");
+                querySql.append(" OR (r.").append(sortColumn).append(" = ? AND r.id > ?))");
+            }
+        }
+
+        // Add ORDER BY clause with tie-breaker
+        querySql.append(" ORDER BY r.").append(sortColumn).append(" ").append(sortOrder);
+        querySql.append(", r.id ").append(sortOrder); // Always add ID as tie-breaker
+        querySql.append(" LIMIT ?");
+
+        log.debug("Compiled record query: {}", querySql);
+        RecordRowMapper rowMapper = new RecordRowMapper(fields, key.queryType() == QueryType.LINKED_RECORDS, true);
+        return new RecordQueryTemplate(querySql.toString(), SlowQueryService.RECORD_READ_TAG + "SELECT COUNT(*)" + fromSql, rowMapper);
+    }
+
+    /**
+     * Adds the bind values of a search parameter and returns its shape. Returns null for a date search without
+     * its dates, which is left out of the query.
+     */
+    public static RecordSearchKey bindSearchParameter(SearchParameter searchParameter, List<Object> parameters) {
+        SearchFieldIdentifier fieldIdentifier = searchParameter.getSearchFieldIdentifier();
+        if (fieldIdentifier == null) {
+            throw new IllegalArgumentException("Invalid search field identifier. Is null.");
+        }
+        if (fieldIdentifier == SearchFieldIdentifier.CUSTOM_FIELD && searchParameter.getFieldID() == null) {
+            throw new IllegalArgumentException("Invalid field ID. Is null.");
+        }
+        SearchType searchType = searchParameter.getSearchType();
+        if (searchType == null) {
+            throw new IllegalArgumentException("Invalid search parameter: null");
+        }
+        UUID fieldId = fieldIdentifier == SearchFieldIdentifier.CUSTOM_FIELD ? searchParameter.getFieldID() : null;
+        boolean uuidValue = false;
+
+        switch (searchType) {
+            case TEXT_CONTAINS, TEXT_NOT_CONTAINS -> parameters.add("%" + escapeLikePattern(textValue(searchParameter)) + "%");
+            case TEXT_STARTS_WITH -> parameters.add(escapeLikePattern(textValue(searchParameter)) + "%");
+            case TEXT_ENDS_WITH -> parameters.add("%" + escapeLikePattern(textValue(searchParameter)));
+            case TEXT_EQUALS, TEXT_NOT_EQUALS -> {
+                String value = textValue(searchParameter);
+                // An id given as UUID is compared as uuid (index use), anything else as text
+                uuidValue = fieldIdentifier == SearchFieldIdentifier.ID && isUuid(value);
+                parameters.add(value);
+            }
+            case DATE_ON, DATE_BEFORE, DATE_AFTER, DATE_BETWEEN -> {
+                // DATE_BETWEEN runs from dateBefore to dateAfter
+                Object first = searchType == SearchType.DATE_ON ? searchParameter.getDateOn()
+                        : searchType == SearchType.DATE_AFTER ? searchParameter.getDateAfter() : searchParameter.getDateBefore();
+                Object second = searchType == SearchType.DATE_BETWEEN ? searchParameter.getDateAfter() : first;
+                if (first == null || second == null) {
+                    log.warn("Date search {} without its dates is ignored", searchType);
+                    return null;
+                }
+                parameters.add(first.toString());
+                if (searchType == SearchType.DATE_BETWEEN) {
+                    parameters.add(second.toString());
+                }
+            }
+            case DATE_TIME_BEFORE -> parameters.add(requireSearchValue(searchParameter.getDateTimeBefore()));
+            case DATE_TIME_AFTER -> parameters.add(requireSearchValue(searchParameter.getDateTimeAfter()));
+            case DATE_TIME_BETWEEN -> {
+                parameters.add(requireSearchValue(searchParameter.getDateTimeStart()));
+                parameters.add(requireSearchValue(searchParameter.getDateTimeEnd()));
+            }
+            case BOOLEAN_TRUE -> parameters.add(true);
+            case BOOLEAN_FALSE -> parameters.add(false);
+            case DECIMAL_EQUALS, DECIMAL_GREATER_THAN, DECIMAL_LESS_THAN -> parameters.add(requireSearchValue(searchParameter.getDoubleSearchValue()));
+            case LONG_EQUALS, LONG_GREATER_THAN, LONG_LESS_THAN -> parameters.add(requireSearchValue(searchParameter.getLongSearchValue()));
+        }
+        return new RecordSearchKey(fieldIdentifier, fieldId, searchType, uuidValue);
+    }
+
+    /**
+     * Escapes the LIKE wildcards in a search value, so user input is matched literally.
+     * This also keeps the pattern's trigrams intact for the pg_trgm search indexes.
+     */
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String textValue(SearchParameter searchParameter) {
+        return requireSearchValue(searchParameter.getTextSearchValue());
+    }
+
+    private static <T> T requireSearchValue(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Invalid search parameter: missing search value");
+        }
+        return value;
+    }
+
+    private static boolean isUuid(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Search predicate with '?' placeholders, in the bind order of bindSearchParameter
+    private static String buildSearchCondition(RecordSearchKey search, List<Field> fields) {
+        String columnName;
+        SearchFieldType searchFieldType;
+        switch (search.fieldIdentifier()) {
+            case CREATED_AT -> {
+                columnName = "r.created_at";
+                searchFieldType = SearchFieldType.DATETIME;
+            }
+            case UPDATED_AT -> {
+                columnName = "r.updated_at";
+                searchFieldType = SearchFieldType.DATETIME;
+            }
+            case ID -> {
+                columnName = "r.id";
+                searchFieldType = SearchFieldType.UUID;
+            }
+            case CUSTOM_FIELD -> {
+                Field field = fields.stream().filter(f -> f.getId().equals(search.fieldId())).findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Field not found: " + search.fieldId()));
+                columnName = "r.field_" + sanitizeIdentifier(field.getId().toString());
+                searchFieldType = SearchFieldType.fromFieldType(field.getType());
+            }
+            default -> throw new IllegalArgumentException("Invalid search field identifier: " + search.fieldIdentifier());
+        }
+
+        SearchType searchType = search.searchType();
+        String condition = switch (searchFieldType) {
+            case TEXT -> switch (searchType) {
+                case TEXT_CONTAINS, TEXT_STARTS_WITH, TEXT_ENDS_WITH -> columnName + " ILIKE ?";
+                case TEXT_NOT_CONTAINS -> columnName + " NOT ILIKE ?";
+                case TEXT_EQUALS -> columnName + " = ?";
+                case TEXT_NOT_EQUALS -> columnName + " != ?";
+                default -> null;
+            };
+            case UUID -> switch (searchType) {
+                case TEXT_CONTAINS, TEXT_STARTS_WITH, TEXT_ENDS_WITH -> "CAST(" + columnName + " AS TEXT) ILIKE ?";
+                case TEXT_NOT_CONTAINS -> "CAST(" + columnName + " AS TEXT) NOT ILIKE ?";
+                case TEXT_EQUALS -> search.uuidValue() ? columnName + " = CAST(? AS UUID)" : "CAST(" + columnName + " AS TEXT) = ?";
+                case TEXT_NOT_EQUALS -> search.uuidValue() ? columnName + " != CAST(? AS UUID)" : "CAST(" + columnName + " AS TEXT) != ?";
+                default -> null;
+            };
+            case DATETIME -> switch (searchType) {
+                case DATE_TIME_BEFORE -> columnName + " < ?";
+                case DATE_TIME_AFTER -> columnName + " > ?";
+                case DATE_TIME_BETWEEN -> columnName + " >= ? AND " + columnName + " <= ?";
+                default -> null;
+            };
+            case DATE -> switch (searchType) {
+                case DATE_ON -> "DATE(" + columnName + ") = DATE(?)";
+                case DATE_BEFORE -> "DATE(" + columnName + ") < DATE(?)";
+                case DATE_AFTER -> "DATE(" + columnName + ") > DATE(?)";
+                case DATE_BETWEEN -> "DATE(" + columnName + ") >= DATE(?) AND DATE(" + columnName + ") <= DATE(?)";
+                default -> null;
+            };
+            case BOOLEAN -> switch (searchType) {
+                case BOOLEAN_TRUE, BOOLEAN_FALSE -> columnName + " = ?";
+                default -> null;
+            };
+            case DECIMAL -> switch (searchType) {
+                case DECIMAL_EQUALS -> columnName + " = ?";
+                case DECIMAL_GREATER_THAN -> columnName + " > ?";
+                case DECIMAL_LESS_THAN -> columnName + " < ?";
+                default -> null;
+            };
+            case LONG -> switch (searchType) {
+                case LONG_EQUALS -> columnName + " = ?";
+                case LONG_GREATER_THAN -> columnName + " > ?";
+                case LONG_LESS_THAN -> columnName + " < ?";
+                default -> null;
+            };
+        };
+        if (condition == null) {
+            throw new IllegalArgumentException("Invalid search parameter: " + searchType);
+        }
+        return condition;
+    }
+
+    private static String sanitizeIdentifier(String identifier) {
+        // Remove hyphens and ensure only alphanumeric and underscore
+        return identifier.replaceAll("-", "_").replaceAll("[^a-zA-Z0-9_]", "");
+    }
+
+    private static void appendQuotedIdentifier(StringBuilder sql, String identifier) {
+        // PostgreSQL identifier quoting to prevent injection
+        sql.append("\"").append(identifier.replace("\"", "\"\"")).append("\"");
+    }
+}
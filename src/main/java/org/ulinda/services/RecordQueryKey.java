@@ -0,0 +1,26 @@
+package org.ulinda.services;
+
+import org.ulinda.enums.QueryType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shape of a getRecords query. Two requests with the same key produce the same SQL text and differ only in bind values.
+ *
+ * @param catalogVersion           version of the model catalog the fields were taken from
+ * @param modelId                  model whose records table is queried
+ * @param modelLinkId              model link joined for LINKED_RECORDS / RECORDS_NOT_LINKED, otherwise null
+ * @param linkedSourceRecordNumber which side of the link table holds the source record (1 or 2), 0 when not linked
+ * @param searches                 shapes of the search parameters, in bind order
+ */
+public record RecordQueryKey(long catalogVersion,
+                             QueryType queryType,
+                             UUID modelId,
+                             UUID modelLinkId,
+                             int linkedSourceRecordNumber,
+                             String sortColumn,
+                             String sortOrder,
+                             boolean hasCursor,
+                             List<RecordSearchKey> searches) {
+}
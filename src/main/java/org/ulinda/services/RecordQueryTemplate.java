@@ -0,0 +1,11 @@
+package org.ulinda.services;
+
+/**
+ * Compiled SQL for a {@link RecordQueryKey}.
+ *
+ * @param selectSql page query: search parameters, then the cursor values (when present), then the limit
+ * @param countSql  count of all matching records: search parameters only
+ * @param rowMapper maps rows of the page query
+ */
+public record RecordQueryTemplate(String selectSql, String countSql, RecordRowMapper rowMapper) {
+}
@@ -0,0 +1,75 @@
+package org.ulinda.services;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.ulinda.dto.RecordDto;
+import org.ulinda.entities.Field;
+import org.ulinda.enums.FieldType;
+import org.ulinda.utils.RecordValueUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maps record rows straight into {@link RecordDto}, reading columns by index.
+ * Expects the column order used by every records query: id, created_at, updated_at, [link_id], then the fields
+ * in catalog order. Field ids and types are resolved once per mapper, so per row there are no column name
+ * lookups and no intermediate row map.
+ */
+public class RecordRowMapper implements RowMapper<RecordDto> {
+
+    private final UUID[] fieldIds;
+    private final FieldType[] fieldTypes;
+    private final boolean hasLinkId;
+    private final boolean includeNullValues;
+
+    /**
+     * @param hasLinkId         the query selects ml.id as link_id after updated_at
+     * @param includeNullValues put null field values in the map (record lists), or leave them out (single record)
+     */
+    public RecordRowMapper(List<Field> fields, boolean hasLinkId, boolean includeNullValues) {
+        this.fieldIds = new UUID[fields.size()];
+        this.fieldTypes = new FieldType[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            fieldIds[i] = fields.get(i).getId();
+            fieldTypes[i] = fields.get(i).getType();
+        }
+        this.hasLinkId = hasLinkId;
+        this.includeNullValues = includeNullValues;
+    }
+
+    @Override
+    public RecordDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        RecordDto recordDto = new RecordDto();
+        recordDto.setId(rs.getObject(1, UUID.class));
+        Timestamp createdAt = rs.getTimestamp(2);
+        if (createdAt != null) {
+            recordDto.setCreatedAt(createdAt.toInstant());
+        }
+        Timestamp updatedAt = rs.getTimestamp(3);
+        if (updatedAt != null) {
+            recordDto.setUpdatedAt(updatedAt.toInstant());
+        }
+
+        int column = 4;
+        if (hasLinkId) {
+            recordDto.setLinkId(rs.getObject(column++, UUID.class));
+        }
+
+        Map<UUID, Object> fieldValues = HashMap.newHashMap(fieldIds.length);
+        for (int i = 0; i < fieldIds.length; i++) {
+            Object value = rs.getObject(column++);
+            if (value != null) {
+                fieldValues.put(fieldIds[i], RecordValueUtils.convertFromDatabase(value, fieldTypes[i]));
+            } else if (includeNullValues) {
+                fieldValues.put(fieldIds[i], null);
+            }
+        }
+        recordDto.setFieldValues(fieldValues);
+        return recordDto;
+    }
+}
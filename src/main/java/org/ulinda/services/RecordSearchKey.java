@@ -0,0 +1,20 @@
+package org.ulinda.services;
+
+import org.ulinda.dto.SearchFieldIdentifier;
+import org.ulinda.dto.SearchType;
+
+import java.util.UUID;
+
+/**
+ * Shape of one search parameter of a getRecords query: which column is searched and how. Values are not part of it,
+ * they are only bound.
+ *
+ * @param fieldIdentifier searched system column, or CUSTOM_FIELD
+ * @param fieldId         searched field for CUSTOM_FIELD, otherwise null
+ * @param uuidValue       for equality searches on the id: whether the value is a UUID (compared as uuid, not as text)
+ */
+public record RecordSearchKey(SearchFieldIdentifier fieldIdentifier,
+                              UUID fieldId,
+                              SearchType searchType,
+                              boolean uuidValue) {
+}
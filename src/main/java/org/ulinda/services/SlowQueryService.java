@@ -0,0 +1,219 @@
+package org.ulinda.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.ulinda.dto.GetSlowQueriesResponse;
+import org.ulinda.dto.SlowQueryDto;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the most recent statements that ran longer than the threshold in a ring buffer.
+ * A plan is captured on a separate connection, in the background, at most once per statement text per explain
+ * interval, so a slow statement cannot start a storm of re-executions.
+ * EXPLAIN (ANALYZE, BUFFERS) executes the statement again, so it is only used for record reads, which are tagged
+ * with {@link #RECORD_READ_TAG} where they are built. Everything else gets a plain EXPLAIN, which does not execute
+ * anything: a SELECT can still take locks or call volatile functions (e.g. pg_advisory_xact_lock).
+ */
+@Service
+@Slf4j
+public class SlowQueryService {
+
+    /**
+     * Prefix of side-effect free reads of records tables, the only statements re-executed by EXPLAIN ANALYZE.
+     */
+    public static final String RECORD_READ_TAG = "/* record-read */ ";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final AtomicBoolean enabled;
+    private final long thresholdMillis;
+    private final int maxEntries;
+    private final boolean explain;
+    private final long explainIntervalMillis;
+
+    private final Deque<SlowQueryDto> entries = new ArrayDeque<>();
+    private final ReentrantLock entriesLock = new ReentrantLock();
+    private final Map<String, Long> lastExplainedAt = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryService(@Value("${ulinda.slow-query-log.enabled:false}") boolean enabled,
+                            @Value("${ulinda.slow-query-log.threshold-ms:500}") long thresholdMillis,
+                            @Value("${ulinda.slow-query-log.max-entries:200}") int maxEntries,
+                            @Value("${ulinda.slow-query-log.explain:true}") boolean explain,
+                            @Value("${ulinda.slow-query-log.explain-interval-seconds:300}") long explainIntervalSeconds) {
+        this.enabled = new AtomicBoolean(enabled);
+        this.thresholdMillis = thresholdMillis;
+        this.maxEntries = maxEntries;
+        this.explain = explain;
+        this.explainIntervalMillis = explainIntervalSeconds * 1000;
+        // One explain at a time, a few queued, the rest dropped
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public boolean isEnabled() {
+        return enabled.get();
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled.set(enabled);
+        log.info("Slow query log {}", enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Wraps a statement creator so executions of the created statement are timed. Returns it unchanged when disabled.
+     */
+    public PreparedStatementCreator wrap(PreparedStatementCreator creator) {
+        if (!enabled.get()) {
+            return creator;
+        }
+        return new SlowQueryStatementCreator(creator, this);
+    }
+
+    long getThresholdNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    /**
+     * Called by timed statements that exceeded the threshold. Bind values are only used for EXPLAIN, never stored.
+     */
+    void record(String sql, Object[] bindValues, long durationNanos) {
+        SlowQueryDto entry = new SlowQueryDto();
+        entry.setId(UUID.randomUUID());
+        entry.setTimestamp(Instant.now());
+        entry.setSql(sql);
+        entry.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        for (Object value : bindValues) {
+            entry.getBindTypes().add(value == null ? "null" : value.getClass().getSimpleName());
+        }
+        entriesLock.lock();
+        try {
+            entries.addFirst(entry);
+            while (entries.size() > maxEntries) {
+                entries.removeLast();
+            }
+        } finally {
+            entriesLock.unlock();
+        }
+        log.warn("Slow query ({} ms): {}", entry.getDurationMillis(), sql);
+
+        if (explain && claimExplain(sql)) {
+            explainExecutor.execute(() -> explain(entry, bindValues));
+        }
+    }
+
+    public GetSlowQueriesResponse getSlowQueries() {
+        GetSlowQueriesResponse response = new GetSlowQueriesResponse();
+        response.setEnabled(enabled.get());
+        response.setThresholdMillis(thresholdMillis);
+        entriesLock.lock();
+        try {
+            response.getSlowQueries().addAll(entries);
+        } finally {
+            entriesLock.unlock();
+        }
+        return response;
+    }
+
+    public void clear() {
+        entriesLock.lock();
+        try {
+            entries.clear();
+        } finally {
+            entriesLock.unlock();
+        }
+        lastExplainedAt.clear();
+    }
+
+    private boolean isAnalyzable(String sql) {
+        return sql.startsWith(RECORD_READ_TAG);
+    }
+
+    private boolean claimExplain(String sql) {
+        long now = System.currentTimeMillis();
+        if (lastExplainedAt.size() > 10000) {
+            lastExplainedAt.clear();
+        }
+        boolean[] claimed = {false};
+        lastExplainedAt.compute(sql, (key, previous) -> {
+            if (previous != null && now - previous < explainIntervalMillis) {
+                return previous;
+            }
+            claimed[0] = true;
+            return now;
+        });
+        return claimed[0];
+    }
+
+    private void explain(SlowQueryDto entry, Object[] bindValues) {
+        String plan;
+        boolean analyze = isAnalyzable(entry.getSql());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    // Give up on plans that take much longer than the original execution
+                    statement.execute("SET LOCAL statement_timeout = " + Math.max(entry.getDurationMillis() * 5, 1000));
+                }
+                String explainSql = (analyze ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + entry.getSql();
+                try (PreparedStatement ps = connection.prepareStatement(explainSql)) {
+                    for (int i = 0; i < bindValues.length; i++) {
+                        Object value = bindValues[i];
+                        if (value instanceof Array array) {
+                            ps.setArray(i + 1, connection.createArrayOf(array.getBaseTypeName(), (Object[]) array.getArray()));
+                        } else {
+                            ps.setObject(i + 1, value);
+                        }
+                    }
+                    StringBuilder planText = new StringBuilder();
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            planText.append(rs.getString(1)).append('\n');
+                        }
+                    }
+                    plan = planText.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (Exception e) {
+            log.debug("Could not explain slow query {}", entry.getId(), e);
+            plan = "Could not capture plan: " + e.getMessage();
+        }
+        entriesLock.lock();
+        try {
+            entry.setPlan(plan);
+        } finally {
+            entriesLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,89 @@
+package org.ulinda.services;
+
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Statement creator that hands the wrapped creator a connection proxy. Statements prepared through it record
+ * their SQL and bind values, and report executions slower than the threshold to the {@link SlowQueryService}.
+ */
+class SlowQueryStatementCreator implements PreparedStatementCreator, SqlProvider, ParameterDisposer {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private final PreparedStatementCreator creator;
+    private final SlowQueryService slowQueryService;
+
+    SlowQueryStatementCreator(PreparedStatementCreator creator, SlowQueryService slowQueryService) {
+        this.creator = creator;
+        this.slowQueryService = slowQueryService;
+    }
+
+    @Override
+    public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+        Connection connectionProxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                        return timedStatement(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+        return creator.createPreparedStatement(connectionProxy);
+    }
+
+    private PreparedStatement timedStatement(PreparedStatement statement, String sql) {
+        Object[][] bindValues = {new Object[0]};
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        if (index > bindValues[0].length) {
+                            bindValues[0] = Arrays.copyOf(bindValues[0], index);
+                        }
+                        bindValues[0][index - 1] = name.equals("setNull") ? null : args[1];
+                    } else if (name.equals("clearParameters")) {
+                        bindValues[0] = new Object[0];
+                    } else if (EXECUTE_METHODS.contains(name) && (args == null || args.length == 0)) {
+                        long start = System.nanoTime();
+                        Object result = invoke(statement, method, args);
+                        long duration = System.nanoTime() - start;
+                        if (duration >= slowQueryService.getThresholdNanos()) {
+                            slowQueryService.record(sql, bindValues[0].clone(), duration);
+                        }
+                        return result;
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @Override
+    public String getSql() {
+        return creator instanceof SqlProvider sqlProvider ? sqlProvider.getSql() : null;
+    }
+
+    @Override
+    public void cleanupParameters() {
+        if (creator instanceof ParameterDisposer parameterDisposer) {
+            parameterDisposer.cleanupParameters();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.ulinda.services;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +24,12 @@ public class StartupService {
     @Autowired
     private DemoDataService demoDataService;
 
+    @Autowired
+    private RecordIndexService recordIndexService;
+
+    @Autowired
+    private LinkCountService linkCountService;
+
     private AtomicBoolean isNew =  new AtomicBoolean(false);
 
     private boolean tableExists(String tableName) {
@@ -36,6 +43,18 @@ public class StartupService {
         return count != null && count > 0;
     }
 
+    private boolean columnExists(String tableName, String columnName) {
+        String sql = """
+            SELECT COUNT(*)
+            FROM information_schema.columns
+            WHERE table_schema = 'public'
+            AND table_name = ?
+            AND column_name = ?
+            """;
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, tableName, columnName);
+        return count != null && count > 0;
+    }
+
     private void createUsersTable() {
         String createSql = """
             CREATE TABLE users (
@@ -84,6 +103,8 @@ public class StartupService {
                         type TEXT NOT NULL,
                         is_parent_field BOOLEAN NOT NULL,
                         is_required BOOLEAN NOT NULL,
+                        is_indexed BOOLEAN NOT NULL DEFAULT FALSE,
+                        is_searchable BOOLEAN NOT NULL DEFAULT FALSE,
                         created_at TIMESTAMP WITH TIME ZONE NOT NULL,
                         updated_at TIMESTAMP WITH TIME ZONE NOT NULL
                     );
@@ -112,7 +133,7 @@ public class StartupService {
             CREATE TABLE current_user_tokens (
                 id UUID PRIMARY KEY NOT NULL DEFAULT gen_random_uuid(),
                 user_id UUID NOT NULL,
-                current_token TEXT NOT NULL,
+                token_hash BYTEA NOT NULL,
                 created_at TIMESTAMP WITH TIME ZONE NOT NULL,
 
                 -- Foreign key constraint for referential integrity
@@ -122,10 +143,12 @@ public class StartupService {
         """;
         jdbcTemplate.execute(createSql);
 
-        String createIndexSql = """
-            CREATE INDEX idx_current_user_tokens_user_id ON current_user_tokens (user_id)
-        """;
-        jdbcTemplate.execute(createIndexSql);
+        createCurrentUserTokensIndexes();
+    }
+
+    private void createCurrentUserTokensIndexes() {
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_current_user_tokens_token_hash ON current_user_tokens (token_hash)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_current_user_tokens_user_id_created_at ON current_user_tokens (user_id, created_at)");
     }
 
     private void deleteTables() {
@@ -137,6 +160,8 @@ public class StartupService {
         String deleteSql = """
             DROP TABLE IF EXISTS fields;
             DROP TABLE IF EXISTS user_model_permissions;
+            DROP TABLE IF EXISTS model_link_counts;
+            DROP TABLE IF EXISTS model_link_count_deltas;
             DROP TABLE IF EXISTS model_links;
             DROP TABLE IF EXISTS models;
             DROP TABLE IF EXISTS user_roles;
@@ -256,12 +281,66 @@ public class StartupService {
             log.info("Models permissions table created successfully");
             createModelLinksTable();
             log.info("Created model links table");
+            linkCountService.createLinkCountsTable();
+            log.info("Created model link counts table");
             createErrorLogTable();
             log.info("Errors table created successfully");
             createCurrentUserTokensTable();
             log.info("Current user tokens table created successfully");
         } else {
             log.info("Users table already exists");
+            upgradeTables();
+        }
+    }
+
+    // Brings tables created by earlier versions up to date
+    private void upgradeTables() {
+        jdbcTemplate.execute("ALTER TABLE fields ADD COLUMN IF NOT EXISTS is_indexed BOOLEAN NOT NULL DEFAULT FALSE");
+        jdbcTemplate.execute("ALTER TABLE fields ADD COLUMN IF NOT EXISTS is_searchable BOOLEAN NOT NULL DEFAULT FALSE");
+
+        // Tokens used to be stored in full, replace them with their SHA-256 digest
+        if (columnExists("current_user_tokens", "current_token")) {
+            log.info("Migrating current user tokens to token hashes");
+            jdbcTemplate.execute("ALTER TABLE current_user_tokens ADD COLUMN IF NOT EXISTS token_hash BYTEA");
+            jdbcTemplate.execute("UPDATE current_user_tokens SET token_hash = sha256(convert_to(current_token, 'UTF8')) WHERE token_hash IS NULL");
+            jdbcTemplate.execute("DELETE FROM current_user_tokens a USING current_user_tokens b WHERE a.token_hash = b.token_hash AND a.id > b.id");
+            jdbcTemplate.execute("ALTER TABLE current_user_tokens ALTER COLUMN token_hash SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE current_user_tokens DROP COLUMN current_token");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_current_user_tokens_user_id");
+            createCurrentUserTokensIndexes();
+        }
+
+        linkCountService.createLinkCountsTable();
+        linkCountService.createMissingLinkCounters();
+    }
+
+    /**
+     * Runs {@link #createMissingRecordIndexes()} on the index build executor, so startup does not wait for index builds
+     * on large tables. Queries work without the indexes meanwhile, just slower. An interrupted build leaves an
+     * invalid index, which is rebuilt on the next start.
+     */
+    @Async("indexBuildExecutor")
+    public void createMissingRecordIndexesInBackground() {
+        try {
+            createMissingRecordIndexes();
+            log.info("Finished creating missing record indexes");
+        } catch (Exception e) {
+            log.error("Failed to create missing record indexes: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates the default created_at / updated_at indexes on records tables created before they existed.
+     * Not transactional, as the indexes are built concurrently so writes are not blocked on large tables.
+     */
+    public void createMissingRecordIndexes() {
+        List<UUID> modelIds = jdbcTemplate.queryForList("SELECT id FROM models", UUID.class);
+        for (UUID modelId : modelIds) {
+            try {
+                recordIndexService.createDefaultIndexesConcurrently(modelId);
+            } catch (Exception e) {
+                log.error("Failed to create default indexes for model {}: {}", modelId, e.getMessage(), e);
+            }
         }
     }
 
@@ -0,0 +1,89 @@
+package org.ulinda.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.ulinda.dto.CacheStatsDto;
+import org.ulinda.entities.User;
+import org.ulinda.entities.UserModelPermission;
+import org.ulinda.enums.ModelPermission;
+import org.ulinda.repositories.UserModelPermissionRepository;
+import org.ulinda.repositories.UserRepository;
+import org.ulinda.utils.TransactionUtils;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the resolved {@link UserPermissions} per user, so permission checks are in-memory lookups.
+ * Anything that changes a user's admin flag or model permissions must call {@link #invalidate(UUID)}.
+ */
+@Service
+@Slf4j
+public class UserPermissionCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserModelPermissionRepository userModelPermissionRepository;
+
+    private final Map<UUID, UserPermissions> permissionsByUserId = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserPermissions getPermissions(UUID userId) {
+        UserPermissions cached = permissionsByUserId.get(userId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long loadVersion = version.get();
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found: " + userId));
+        Map<UUID, EnumSet<ModelPermission>> modelPermissions = new HashMap<>();
+        for (UserModelPermission permission : userModelPermissionRepository.findByUserId(userId)) {
+            modelPermissions.computeIfAbsent(permission.getModelId(), id -> EnumSet.noneOf(ModelPermission.class)).add(permission.getPermission());
+        }
+        UserPermissions loaded = new UserPermissions(userId, user.isAdminUser(), modelPermissions);
+
+        // Don't cache if permissions were invalidated while loading
+        if (version.get() == loadVersion) {
+            permissionsByUserId.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the user's permissions now and again once the current transaction completes.
+     */
+    public void invalidate(UUID userId) {
+        version.incrementAndGet();
+        permissionsByUserId.remove(userId);
+        TransactionUtils.runAfterCompletion(() -> {
+            version.incrementAndGet();
+            permissionsByUserId.remove(userId);
+        });
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public CacheStatsDto getStats() {
+        CacheStatsDto stats = new CacheStatsDto();
+        stats.setName("user-permissions");
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setVersion(version.get());
+        stats.setSize(permissionsByUserId.size());
+        return stats;
+    }
+}
@@ -0,0 +1,46 @@
+package org.ulinda.services;
+
+import org.ulinda.enums.ModelPermission;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resolved permissions of a single user: the admin flag plus the granted permissions per model.
+ */
+public class UserPermissions {
+
+    private final UUID userId;
+    private final boolean adminUser;
+    private final Map<UUID, EnumSet<ModelPermission>> modelPermissions;
+
+    UserPermissions(UUID userId, boolean adminUser, Map<UUID, EnumSet<ModelPermission>> modelPermissions) {
+        this.userId = userId;
+        this.adminUser = adminUser;
+        this.modelPermissions = modelPermissions;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public boolean isAdminUser() {
+        return adminUser;
+    }
+
+    public Set<ModelPermission> getPermissions(UUID modelId) {
+        EnumSet<ModelPermission> permissions = modelPermissions.get(modelId);
+        return permissions != null ? Collections.unmodifiableSet(permissions) : Collections.emptySet();
+    }
+
+    public boolean hasPermission(UUID modelId, ModelPermission permission) {
+        if (adminUser) {
+            return true;
+        }
+        EnumSet<ModelPermission> permissions = modelPermissions.get(modelId);
+        return permissions != null && permissions.contains(permission);
+    }
+}
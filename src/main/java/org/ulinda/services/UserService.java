@@ -7,7 +7,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.ulinda.dto.*;
-import org.ulinda.entities.CurrentUserToken;
 import org.ulinda.entities.Model;
 import org.ulinda.entities.User;
 import org.ulinda.entities.UserModelPermission;
@@ -17,9 +16,10 @@ import org.ulinda.repositories.CurrentUserTokenRepository;
 import org.ulinda.repositories.ModelRepository;
 import org.ulinda.repositories.UserModelPermissionRepository;
 import org.ulinda.repositories.UserRepository;
+import org.ulinda.security.AuthTokenCache;
 import org.ulinda.security.JwtService;
+import org.ulinda.utils.TokenHashUtils;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -32,12 +32,18 @@ public class UserService {
     @Value("${ULINDA_ADMIN_SECRET:}")
     private String adminUserPassword;
 
+    // Concurrent sessions per user, the oldest token is dropped on the next login
+    private static final int MAX_TOKENS_PER_USER = 10;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final PasswordService passwordService;
     private final UserModelPermissionRepository userModelPermissionRepository;
     private final ModelRepository modelRepository;
     private final CurrentUserTokenRepository currentUserTokenRepository;
+    private final UserPermissionCache userPermissionCache;
+    private final ModelMetadataCache modelMetadataCache;
+    private final AuthTokenCache authTokenCache;
 
     public UserService(
             UserRepository userRepository,
@@ -46,13 +52,19 @@ public class UserService {
             UserModelPermissionRepository userModelPermissionRepository,
             ModelRepository modelRepository,
             CurrentUserTokenRepository currentUserTokenRepository,
-            JwtService jwtService) {
+            JwtService jwtService,
+            UserPermissionCache userPermissionCache,
+            ModelMetadataCache modelMetadataCache,
+            AuthTokenCache authTokenCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.passwordService = passwordService;
         this.userModelPermissionRepository = userModelPermissionRepository;
         this.modelRepository = modelRepository;
         this.currentUserTokenRepository = currentUserTokenRepository;
+        this.userPermissionCache = userPermissionCache;
+        this.modelMetadataCache = modelMetadataCache;
+        this.authTokenCache = authTokenCache;
     }
 
     @Transactional
@@ -148,15 +160,9 @@ public class UserService {
         if (!StringUtils.hasText(token)) {
             throw new RuntimeException("Token is empty");
         }
-        //Validate user ID
-        userRepository.findById(uuid).orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Get all existing tokens for the user
-        List<CurrentUserToken> existingTokens = currentUserTokenRepository.findAllByUserId(uuid);
-        for (CurrentUserToken existingToken : existingTokens) {
-            if (existingToken.getCurrentToken().equals(token)) {
-                return true;
-            }
+        // Single lookup on the unique token hash index
+        if (currentUserTokenRepository.existsByUserIdAndTokenHash(uuid, TokenHashUtils.sha256(token))) {
+            return true;
         }
         throw new FrontendException("Invalid token [" + token +"]", true);
     }
@@ -180,29 +186,17 @@ public class UserService {
 
     @Transactional
     public void saveNewToken(UUID uuid, String newToken) {
-        User user = userRepository.findById(uuid).orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Get all existing tokens for the user
-        List<CurrentUserToken> existingTokens = currentUserTokenRepository.findAllByUserId(uuid);
-
-        // If user already has 10 tokens, delete the oldest one
-        if (existingTokens.size() >= 10) {
-            // Find the oldest token (the one with the earliest createdAt timestamp)
-            CurrentUserToken oldestToken = existingTokens.stream()
-                    .min((t1, t2) -> t1.getCreatedAt().compareTo(t2.getCreatedAt()))
-                    .orElse(null);
-
-            if (oldestToken != null) {
-                currentUserTokenRepository.delete(oldestToken);
-            }
+        if (!userRepository.existsById(uuid)) {
+            throw new RuntimeException("User not found");
         }
 
-        // Create and save the new token
-        CurrentUserToken currentUserToken = new CurrentUserToken();
-        currentUserToken.setUserId(uuid);
-        currentUserToken.setCurrentToken(newToken);
-        currentUserToken.setCreatedAt(Instant.now());
-        currentUserTokenRepository.save(currentUserToken);
+        // Save the new token, then keep only the user's 10 newest tokens
+        currentUserTokenRepository.insertIfAbsent(uuid, TokenHashUtils.sha256(newToken));
+        int evicted = currentUserTokenRepository.deleteAllButNewest(uuid, MAX_TOKENS_PER_USER);
+        if (evicted > 0) {
+            // The evicted tokens are unknown here, revalidate all of the user's tokens
+            authTokenCache.invalidateUser(uuid);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -251,9 +245,10 @@ public class UserService {
         GetUserModelPermissionsResponse response = new GetUserModelPermissionsResponse();
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found: " + userId));
         List<UserModelPermission> permissions = userModelPermissionRepository.findByUserId(user.getId());
+        ModelCatalog catalog = modelMetadataCache.getCatalog();
         List<UserModelPermissionDto> userModelPermissions = new ArrayList<>();
         for (UserModelPermission permission : permissions) {
-            Model model = modelRepository.findById(permission.getModelId()).orElseThrow(() -> new RuntimeException("Model not found: " + permission.getModelId()));
+            Model model = catalog.findModel(permission.getModelId()).orElseThrow(() -> new RuntimeException("Model not found: " + permission.getModelId()));
             UserModelPermissionDto userModelPermissionDto = new UserModelPermissionDto();
             userModelPermissionDto.setModelName(model.getName());
             userModelPermissionDto.setModelId(model.getId());
@@ -291,6 +286,10 @@ public class UserService {
             userModelPermissionRepository.save(userModelPermission);
         }
 
+        userPermissionCache.invalidate(userId);
+        // The admin flag is part of the cached authentication
+        authTokenCache.invalidateUser(userId);
+
         //Check if user must change the password
         if (updateUserRequest.isMustChangePassword()) {
             //Delete all tokens for user
@@ -301,6 +300,7 @@ public class UserService {
 
     private void deleteCurrentUserTokens(UUID userId) {
         currentUserTokenRepository.deleteAllByUserId(userId);
+        authTokenCache.invalidateUser(userId);
     }
 
 
@@ -0,0 +1,93 @@
+package org.ulinda.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV writing.
+ */
+public class CsvUtils {
+
+    /**
+     * Writes one CSV line. Null values are written as empty cells.
+     */
+    public static void writeRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(escape(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a value when it contains a separator, quote or line break.
+     */
+    public static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Always quotes the value. Used for PostgreSQL COPY, where an unquoted empty cell means NULL
+     * and an unquoted \. line ends the data.
+     */
+    public static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Reads one CSV line, which may span several physical lines inside quotes.
+     * Returns null at the end of the input.
+     */
+    public static List<String> readRow(BufferedReader reader) throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean readAny = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            readAny = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                values.add(value.toString());
+                return values;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+        }
+        if (!readAny) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,137 @@
+package org.ulinda.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ulinda.enums.FieldType;
+import org.ulinda.exceptions.FrontendException;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Conversion of record field values between the API and the database.
+ */
+@Slf4j
+public class RecordValueUtils {
+
+    /**
+     * Validates an API value for a field and converts it to the type bound to the database column.
+     */
+    public static Object validateAndConvertValue(Object value, FieldType fieldType, String fieldName) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return switch (fieldType) {
+                case EMAIL, SINGLE_LINE_TEXT, MULTI_LINE_TEXT -> {
+                    if (value instanceof String) {
+                        // Save as null for empty string
+                        if (((String) value).isBlank()) {
+                            yield null;
+                        }
+                        yield value;
+                    }
+                    yield value.toString();
+                }
+                case DECIMAL -> {
+                    if (value instanceof Number) {
+                        yield value;
+                    }
+                    if (value instanceof String) {
+                        yield new java.math.BigDecimal((String) value);
+                    }
+                    throw new IllegalArgumentException("Invalid decimal value");
+                }
+                case LONG -> {
+                    if (value instanceof Number) {
+                        yield ((Number) value).longValue();
+                    }
+                    if (value instanceof String) {
+                        yield Long.valueOf((String) value);
+                    }
+                    throw new IllegalArgumentException("Invalid long value");
+                }
+                case BOOLEAN -> {
+                    if (value instanceof Boolean) {
+                        yield value;
+                    }
+                    if (value instanceof String) {
+                        yield Boolean.parseBoolean((String) value);
+                    }
+                    throw new IllegalArgumentException("Invalid boolean value");
+                }
+                case DATE -> {
+                    if (value instanceof String) {
+                        yield java.sql.Date.valueOf((String) value);
+                    }
+                    if (value instanceof java.sql.Date) {
+                        yield value;
+                    }
+                    throw new IllegalArgumentException("Invalid date value. Use YYYY-MM-DD format");
+                }
+                case DATETIME -> {
+                    if (value instanceof String) {
+                        String dateTimeStr = (String) value;
+                        try {
+                            // Try to parse as ISO format (2025-09-17T11:00:00.000Z)
+                            if (dateTimeStr.contains("T") && dateTimeStr.endsWith("Z")) {
+                                // Parse ISO format and convert to Timestamp
+                                Instant instant = Instant.parse(dateTimeStr);
+                                yield Timestamp.from(instant);
+                            }
+                        } catch (Exception e) {
+                            throw new FrontendException("Invalid datetime format. Expected ISO format (2025-09-17T11:00:00.000Z)", true);
+                        }
+                    }
+                    throw new FrontendException("Invalid value for field '" + fieldName + "' of type DATETIME: Expected ISO format (2025-09-17T11:00:00.000Z)", true);
+                }
+            };
+        } catch (Exception e) {
+            log.error("Invalid value for field [{}]. Field class type: [{}]. Value: [{}]. Exception message: [{}]", fieldName, value.getClass().getName(), value,  e.getMessage());
+            throw new IllegalArgumentException("Invalid value for field '" + fieldName + "' of type " + fieldType + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Converts a value read from a records column to its API representation.
+     */
+    public static Object convertFromDatabase(Object value, FieldType fieldType) {
+        if (value == null) {
+            return null;
+        }
+
+        return switch (fieldType) {
+            case EMAIL, SINGLE_LINE_TEXT, MULTI_LINE_TEXT -> value.toString();
+            case DECIMAL -> {
+                if (value instanceof Number) {
+                    yield value;
+                }
+                yield new java.math.BigDecimal(value.toString());
+            }
+            case LONG -> {
+                if (value instanceof Number) {
+                    yield ((Number) value).longValue();
+                }
+                yield Long.valueOf(value.toString());
+            }
+            case BOOLEAN -> {
+                if (value instanceof Boolean) {
+                    yield value;
+                }
+                yield Boolean.parseBoolean(value.toString());
+            }
+            case DATE -> {
+                if (value instanceof java.sql.Date) {
+                    yield value.toString(); // Return as ISO date string
+                }
+                yield value.toString();
+            }
+            case DATETIME -> {
+                if (value instanceof java.sql.Timestamp) {
+                    yield ((java.sql.Timestamp) value).toInstant(); // Return as Instant for consistency
+                }
+                yield value;
+            }
+        };
+    }
+}
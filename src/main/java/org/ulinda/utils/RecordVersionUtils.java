@@ -0,0 +1,42 @@
+package org.ulinda.utils;
+
+import org.ulinda.exceptions.ErrorCode;
+import org.ulinda.exceptions.FrontendException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Record version tokens, used as ETag / If-Match values for optimistic concurrency.
+ * The version of a record is its updated_at in epoch microseconds, the precision PostgreSQL stores.
+ * ETags are weak because Tomcat does not compress responses with a strong ETag; If-Match accepts either form,
+ * the token is compared exactly.
+ */
+public class RecordVersionUtils {
+
+    public static String toETag(Instant updatedAt) {
+        return "W/\"" + ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt) + "\"";
+    }
+
+    /**
+     * Parses an If-Match header. Returns null when there is no condition (no header, or "*").
+     */
+    public static Instant parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new FrontendException("Invalid If-Match header: " + ifMatch, ErrorCode.VALIDATION_EXCEPTION, true);
+        }
+        try {
+            long micros = Long.parseLong(value.substring(1, value.length() - 1));
+            return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+        } catch (NumberFormatException e) {
+            throw new FrontendException("Invalid If-Match header: " + ifMatch, ErrorCode.VALIDATION_EXCEPTION, true);
+        }
+    }
+}
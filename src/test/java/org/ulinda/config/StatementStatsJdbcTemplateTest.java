@@ -0,0 +1,48 @@
+package org.ulinda.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGStatement;
+import org.ulinda.dto.CacheStatsDto;
+import org.ulinda.services.SlowQueryService;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementStatsJdbcTemplateTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementStatsJdbcTemplate jdbcTemplate =
+            new StatementStatsJdbcTemplate(mock(DataSource.class), mock(SlowQueryService.class), meterRegistry);
+
+    @Test
+    void countsExecutionsByServerPrepare() throws SQLException {
+        jdbcTemplate.applyStatementSettings(statement(true));
+        jdbcTemplate.applyStatementSettings(statement(true));
+        jdbcTemplate.applyStatementSettings(statement(false));
+
+        assertThat(meterRegistry.get(StatementStatsJdbcTemplate.EXECUTIONS).tag("serverPrepared", "true").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get(StatementStatsJdbcTemplate.EXECUTIONS).tag("serverPrepared", "false").counter().count())
+                .isEqualTo(1);
+
+        CacheStatsDto stats = jdbcTemplate.getStats();
+        assertThat(stats.getName()).isEqualTo("server-prepared-executions");
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isEqualTo(1);
+    }
+
+    private static PreparedStatement statement(boolean useServerPrepare) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        PGStatement pgStatement = mock(PGStatement.class);
+        when(statement.isWrapperFor(PGStatement.class)).thenReturn(true);
+        when(statement.unwrap(PGStatement.class)).thenReturn(pgStatement);
+        when(pgStatement.isUseServerPrepare()).thenReturn(useServerPrepare);
+        return statement;
+    }
+}
@@ -0,0 +1,100 @@
+package org.ulinda.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ulinda.enums.FieldType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactGetRecordsResponseTest {
+
+    // Same date handling as the Spring Boot configured mapper
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final FieldDto nameField = field(FieldType.SINGLE_LINE_TEXT);
+    private final FieldDto salaryField = field(FieldType.DECIMAL);
+    private final RecordDto record = new RecordDto();
+    private final GetRecordsResponse response = new GetRecordsResponse();
+
+    @BeforeEach
+    void setUp() {
+        record.setId(UUID.randomUUID());
+        record.setCreatedAt(Instant.parse("2025-03-01T10:15:30Z"));
+        record.setUpdatedAt(Instant.parse("2025-03-02T08:00:00Z"));
+        record.setLinkId(UUID.randomUUID());
+        Map<UUID, Object> fieldValues = new HashMap<>();
+        fieldValues.put(salaryField.getId(), new BigDecimal("1234.5000"));
+        record.setFieldValues(fieldValues); // The name is null and left out of the map
+        response.setRecords(List.of(record));
+        response.setFields(List.of(nameField, salaryField));
+        PaginationInfo pagination = new PaginationInfo();
+        pagination.setLimit(50);
+        response.setPagination(pagination);
+    }
+
+    @Test
+    void columnsFollowFieldOrderWithoutLinkId() throws Exception {
+        JsonNode json = objectMapper.valueToTree(new CompactGetRecordsResponse(response, false));
+
+        assertThat(json.get("format").asText()).isEqualTo("compact");
+        assertThat(json.get("pagination").get("limit").asInt()).isEqualTo(50);
+        assertThat(json.get("fields")).hasSize(2);
+        assertThat(texts(json.get("columns")))
+                .containsExactly("id", "createdAt", "updatedAt", nameField.getId().toString(), salaryField.getId().toString());
+        JsonNode row = json.get("rows").get(0);
+        assertThat(row).hasSize(5);
+        assertThat(row.get(0).asText()).isEqualTo(record.getId().toString());
+        assertThat(row.get(1).asText()).isEqualTo("2025-03-01T10:15:30Z");
+        assertThat(row.get(2).asText()).isEqualTo("2025-03-02T08:00:00Z");
+        assertThat(row.get(3).isNull()).isTrue();
+        assertThat(row.get(4).decimalValue()).isEqualByComparingTo("1234.5");
+    }
+
+    @Test
+    void linkIdFollowsUpdatedAt() throws Exception {
+        JsonNode json = objectMapper.valueToTree(new CompactGetRecordsResponse(response, true));
+
+        assertThat(texts(json.get("columns")))
+                .containsExactly("id", "createdAt", "updatedAt", "linkId", nameField.getId().toString(), salaryField.getId().toString());
+        JsonNode row = json.get("rows").get(0);
+        assertThat(row).hasSize(6);
+        assertThat(row.get(3).asText()).isEqualTo(record.getLinkId().toString());
+        assertThat(row.get(4).isNull()).isTrue();
+        assertThat(row.get(5).decimalValue()).isEqualByComparingTo("1234.5");
+    }
+
+    @Test
+    void timestampsMatchTheRegularResponse() throws Exception {
+        JsonNode regular = objectMapper.valueToTree(record);
+        JsonNode compact = objectMapper.valueToTree(new CompactGetRecordsResponse(response, false)).get("rows").get(0);
+
+        assertThat(compact.get(1)).isEqualTo(regular.get("createdAt"));
+        assertThat(compact.get(2)).isEqualTo(regular.get("updatedAt"));
+    }
+
+    private static List<String> texts(JsonNode array) {
+        return array.valueStream().map(JsonNode::asText).toList();
+    }
+
+    private static FieldDto field(FieldType type) {
+        FieldDto field = new FieldDto();
+        field.setId(UUID.randomUUID());
+        field.setType(type);
+        field.setName(type.name());
+        return field;
+    }
+}
@@ -0,0 +1,35 @@
+package org.ulinda.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.ulinda.services.ErrorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalExceptionHandlerTest {
+
+    @Mock
+    private ErrorService errorService;
+
+    @InjectMocks
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Test
+    void versionConflictIsAnsweredWith409() {
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleRecordVersionConflictException(
+                new RecordVersionConflictException("Record was modified"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getErrorCode()).isEqualTo(ErrorCode.RECORD_VERSION_CONFLICT);
+        assertThat(response.getBody().isShowMessageToUser()).isTrue();
+        // An expected outcome of concurrent edits, not stored as an error
+        verifyNoInteractions(errorService);
+    }
+}
@@ -0,0 +1,95 @@
+package org.ulinda.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.ulinda.entities.Model;
+import org.ulinda.repositories.FieldRepository;
+import org.ulinda.repositories.ModelLinkRepository;
+import org.ulinda.repositories.ModelRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModelMetadataCacheTest {
+
+    @Mock
+    private ModelRepository modelRepository;
+
+    @Mock
+    private FieldRepository fieldRepository;
+
+    @Mock
+    private ModelLinkRepository modelLinkRepository;
+
+    @InjectMocks
+    private ModelMetadataCache modelMetadataCache;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(modelMetadataCache);
+    }
+
+    @Test
+    void catalogIsLoadedOnceUntilInvalidated() {
+        Model model = model("Employees");
+        when(modelRepository.findAll()).thenReturn(List.of(model));
+
+        ModelCatalog first = modelMetadataCache.getCatalog();
+        ModelCatalog second = modelMetadataCache.getCatalog();
+        assertThat(second).isSameAs(first);
+        verify(modelRepository, times(1)).findAll();
+
+        modelMetadataCache.invalidate();
+        ModelCatalog reloaded = modelMetadataCache.getCatalog();
+
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.getVersion()).isGreaterThan(first.getVersion());
+        verify(modelRepository, times(2)).findAll();
+    }
+
+    @Test
+    void catalogLoadedDuringChangingTransactionIsNotShared() {
+        when(modelRepository.findAll()).thenReturn(List.of(model("Employees")));
+        ModelCatalog before = modelMetadataCache.getCatalog();
+
+        TransactionSynchronizationManager.initSynchronization();
+        modelMetadataCache.invalidate();
+
+        // The changing transaction reads its own metadata, which must not be cached for other requests
+        ModelCatalog inTransaction = modelMetadataCache.getCatalog();
+        assertThat(inTransaction.isShared()).isFalse();
+        assertThat(modelMetadataCache.getCatalog()).isNotSameAs(inTransaction);
+
+        long versionBeforeCompletion = modelMetadataCache.getVersion();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Completion bumps the version again, so nothing cached in between survives
+        assertThat(modelMetadataCache.getVersion()).isGreaterThan(versionBeforeCompletion);
+        ModelCatalog after = modelMetadataCache.getCatalog();
+        assertThat(after.isShared()).isTrue();
+        assertThat(after).isNotSameAs(before);
+        assertThat(modelMetadataCache.getCatalog()).isSameAs(after);
+    }
+
+    private static Model model(String name) {
+        Model model = new Model();
+        model.setId(UUID.randomUUID());
+        model.setName(name);
+        return model;
+    }
+}
@@ -0,0 +1,108 @@
+package org.ulinda.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.ulinda.dto.FieldDto;
+import org.ulinda.entities.Field;
+import org.ulinda.entities.Model;
+import org.ulinda.enums.FieldType;
+import org.ulinda.repositories.FieldRepository;
+import org.ulinda.repositories.ModelRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModelServiceAddFieldTest {
+
+    private final UUID modelId = UUID.randomUUID();
+    private final UUID fieldId = UUID.randomUUID();
+    private final List<Runnable> indexBuilds = new ArrayList<>();
+    // isIndexed of the field at every save
+    private final List<Boolean> savedIndexedFlags = new ArrayList<>();
+    private Field savedField;
+
+    @Mock
+    private ModelRepository modelRepository;
+
+    @Mock
+    private FieldRepository fieldRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ModelMetadataCache modelMetadataCache;
+
+    @Mock
+    private RecordIndexService recordIndexService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ModelService modelService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(modelService, "indexBuildExecutor", (TaskExecutor) indexBuilds::add);
+        Model model = new Model();
+        model.setId(modelId);
+        when(modelRepository.findById(modelId)).thenReturn(Optional.of(model));
+        when(fieldRepository.save(any(Field.class))).thenAnswer(invocation -> {
+            savedField = invocation.getArgument(0);
+            savedField.setId(fieldId);
+            savedIndexedFlags.add(savedField.getIsIndexed());
+            return savedField;
+        });
+    }
+
+    @Test
+    void indexIsBuiltInTheBackgroundBeforeTheFieldIsFlagged() {
+        modelService.addField(modelId, indexedField());
+
+        // The request only scheduled the build
+        assertThat(savedIndexedFlags).containsExactly(false);
+        assertThat(indexBuilds).hasSize(1);
+        verifyNoInteractions(recordIndexService);
+
+        when(fieldRepository.findById(fieldId)).thenAnswer(invocation -> Optional.of(savedField));
+        indexBuilds.get(0).run();
+
+        verify(recordIndexService).createFieldIndexConcurrently(modelId, fieldId);
+        assertThat(savedIndexedFlags).containsExactly(false, true);
+    }
+
+    @Test
+    void failedBuildLeavesTheFieldUnindexed() {
+        modelService.addField(modelId, indexedField());
+        doThrow(new RuntimeException("canceling statement due to statement timeout"))
+                .when(recordIndexService).createFieldIndexConcurrently(modelId, fieldId);
+
+        indexBuilds.get(0).run();
+
+        assertThat(savedIndexedFlags).containsExactly(false);
+    }
+
+    private FieldDto indexedField() {
+        FieldDto fieldDto = new FieldDto();
+        fieldDto.setName("Salary");
+        fieldDto.setType(FieldType.LONG);
+        fieldDto.setIsIndexed(true);
+        return fieldDto;
+    }
+}
@@ -0,0 +1,176 @@
+package org.ulinda.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.ulinda.dto.BatchRecordOperation;
+import org.ulinda.dto.BatchRecordsRequest;
+import org.ulinda.dto.BatchRecordsResponse;
+import org.ulinda.entities.Field;
+import org.ulinda.entities.Model;
+import org.ulinda.enums.BatchOperationType;
+import org.ulinda.enums.FieldType;
+import org.ulinda.enums.ModelPermission;
+import org.ulinda.exceptions.ErrorCode;
+import org.ulinda.exceptions.FrontendException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModelServiceBatchRecordsTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID modelId = UUID.randomUUID();
+    private final Field nameField = new Field();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ModelMetadataCache modelMetadataCache;
+
+    @Mock
+    private UserPermissionCache userPermissionCache;
+
+    @Mock
+    private RecordCountService recordCountService;
+
+    @InjectMocks
+    private ModelService modelService;
+
+    @BeforeEach
+    void setUp() {
+        Model model = new Model();
+        model.setId(modelId);
+        model.setName("Employees");
+        nameField.setId(UUID.randomUUID());
+        nameField.setModelId(modelId);
+        nameField.setName("Name");
+        nameField.setType(FieldType.SINGLE_LINE_TEXT);
+        when(modelMetadataCache.getCatalog()).thenReturn(new ModelCatalog(1, true, List.of(model), List.of(nameField), List.of()));
+    }
+
+    @Test
+    void batchIsRejectedWithoutPermissionForEveryOperationType() {
+        grant(ModelPermission.VIEW_RECORDS, ModelPermission.ADD_RECORDS);
+        BatchRecordsRequest request = request(create("Alice"), update(UUID.randomUUID(), "Bob"));
+
+        assertThatThrownBy(() -> modelService.batchRecords(userId, modelId, request))
+                .isInstanceOf(FrontendException.class)
+                .extracting(e -> ((FrontendException) e).getErrorCode())
+                .isEqualTo(ErrorCode.PERMISSION_DENIED);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void missingRecordsFailAtomicBatchWithOneExistenceQuery() throws SQLException {
+        grant(ModelPermission.ADD_RECORDS, ModelPermission.EDIT_RECORDS, ModelPermission.DELETE_RECORDS);
+        UUID existingId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        List<String> queries = stubUuidQueries(List.of(existingId));
+        BatchRecordsRequest request = request(create("Alice"), update(existingId, "Bob"), delete(missingId));
+
+        BatchRecordsResponse response = modelService.batchRecords(userId, modelId, request);
+
+        assertThat(queries).singleElement().asString().contains("WHERE id = ANY(?)");
+        assertThat(response.isApplied()).isFalse();
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        assertThat(response.getResults().get(2).isSuccess()).isFalse();
+        assertThat(response.getResults().get(2).getMessage()).contains(missingId.toString());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    void nonAtomicBatchAppliesTheValidOperations() throws SQLException {
+        grant(ModelPermission.ADD_RECORDS, ModelPermission.EDIT_RECORDS);
+        UUID existingId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        stubUuidQueries(List.of(existingId));
+        BatchRecordsRequest request = request(create("Alice"), update(existingId, "Bob"), update(missingId, "Carol"));
+        request.setAtomic(false);
+
+        BatchRecordsResponse response = modelService.batchRecords(userId, modelId, request);
+
+        assertThat(response.isApplied()).isTrue();
+        assertThat(response.getCreatedCount()).isEqualTo(1);
+        assertThat(response.getUpdatedCount()).isEqualTo(1);
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(sql.capture(), rows.capture());
+        assertThat(sql.getAllValues().get(0)).startsWith("INSERT INTO");
+        assertThat(sql.getAllValues().get(1)).startsWith("UPDATE");
+        // The record id is the last parameter of the update, only the existing record is written
+        assertThat(rows.getAllValues().get(1)).singleElement().satisfies(row -> assertThat(row).containsExactly("Bob", existingId));
+    }
+
+    private void grant(ModelPermission... permissions) {
+        EnumSet<ModelPermission> granted = EnumSet.noneOf(ModelPermission.class);
+        granted.addAll(List.of(permissions));
+        when(userPermissionCache.getPermissions(userId)).thenReturn(new UserPermissions(userId, false, Map.of(modelId, granted)));
+    }
+
+    // Answers every uuid[] query with the given ids and returns the SQL of the queries that ran
+    @SuppressWarnings("unchecked")
+    private List<String> stubUuidQueries(List<UUID> result) throws SQLException {
+        List<String> queries = new ArrayList<>();
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            queries.add(invocation.getArgument(0));
+            return mock(PreparedStatement.class);
+        });
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            return result;
+        });
+        return queries;
+    }
+
+    private BatchRecordsRequest request(BatchRecordOperation... operations) {
+        BatchRecordsRequest request = new BatchRecordsRequest();
+        request.setOperations(List.of(operations));
+        return request;
+    }
+
+    private BatchRecordOperation create(String name) {
+        BatchRecordOperation operation = new BatchRecordOperation();
+        operation.setType(BatchOperationType.CREATE);
+        operation.setFieldValues(Map.of(nameField.getId(), name));
+        return operation;
+    }
+
+    private BatchRecordOperation update(UUID recordId, String name) {
+        BatchRecordOperation operation = create(name);
+        operation.setType(BatchOperationType.UPDATE);
+        operation.setRecordId(recordId);
+        return operation;
+    }
+
+    private BatchRecordOperation delete(UUID recordId) {
+        BatchRecordOperation operation = new BatchRecordOperation();
+        operation.setType(BatchOperationType.DELETE);
+        operation.setRecordId(recordId);
+        return operation;
+    }
+}
@@ -0,0 +1,168 @@
+package org.ulinda.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.ulinda.dto.BulkLinkRecordsRequest;
+import org.ulinda.dto.BulkLinkRecordsResponse;
+import org.ulinda.entities.Model;
+import org.ulinda.entities.ModelLink;
+import org.ulinda.exceptions.ErrorCode;
+import org.ulinda.exceptions.FrontendException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModelServiceLinkLimitTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID sourceRecordId = UUID.randomUUID();
+    private final List<UUID> targetRecordIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+    private final Model sourceModel = model("Employees");
+    private final Model targetModel = model("Departments");
+    private final ModelLink modelLink = new ModelLink();
+
+    // SQL of every statement sent, in order
+    private final List<String> statements = new ArrayList<>();
+    private List<UUID> overLimitRecords = List.of();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ModelMetadataCache modelMetadataCache;
+
+    @Mock
+    private UserPermissionCache userPermissionCache;
+
+    @InjectMocks
+    private ModelService modelService;
+
+    @BeforeEach
+    void setUp() {
+        modelLink.setId(UUID.randomUUID());
+        modelLink.setModel1Id(sourceModel.getId());
+        modelLink.setModel2Id(targetModel.getId());
+        modelLink.setModel2CanHaveUnlimitedModel1s(true);
+        when(userPermissionCache.getPermissions(userId)).thenReturn(new UserPermissions(userId, true, Map.of()));
+    }
+
+    @Test
+    void limitedLinkIsLockedBeforeInsertAndChecked() throws SQLException {
+        limitModel1To(2);
+        stubJdbc();
+
+        BulkLinkRecordsResponse response = modelService.linkRecordsBulk(userId, request());
+
+        assertThat(response.getChangedCount()).isEqualTo(2);
+        assertThat(statements).hasSize(5);
+        assertThat(statements.get(2)).contains("pg_advisory_xact_lock");
+        assertThat(statements.get(3)).startsWith("INSERT INTO model_links_");
+        assertThat(statements.get(4)).contains("GROUP BY record1_id HAVING count(*) > ?");
+    }
+
+    @Test
+    void exceedingTheLimitFails() throws SQLException {
+        limitModel1To(1);
+        overLimitRecords = List.of(sourceRecordId);
+        stubJdbc();
+
+        assertThatThrownBy(() -> modelService.linkRecordsBulk(userId, request()))
+                .isInstanceOf(FrontendException.class)
+                .hasMessageContaining(sourceRecordId.toString())
+                .hasMessageContaining("Departments")
+                .extracting(e -> ((FrontendException) e).getErrorCode())
+                .isEqualTo(ErrorCode.LINK_LIMIT_EXCEEDED);
+        // The link was inserted first, the exception rolls it back
+        assertThat(statements.get(2)).contains("pg_advisory_xact_lock");
+        assertThat(statements.get(3)).startsWith("INSERT INTO model_links_");
+    }
+
+    @Test
+    void unlimitedLinkTakesNoLocks() throws SQLException {
+        modelLink.setModel1CanHaveUnlimitedModel2s(true);
+        catalog();
+        stubJdbc();
+
+        modelService.linkRecordsBulk(userId, request());
+
+        assertThat(statements).noneMatch(sql -> sql.contains("pg_advisory_xact_lock") || sql.contains("HAVING"));
+        verify(jdbcTemplate, never()).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private void limitModel1To(long limit) {
+        modelLink.setModel1CanHaveSoManyModel2sCount(limit);
+        catalog();
+    }
+
+    private void catalog() {
+        when(modelMetadataCache.getCatalog())
+                .thenReturn(new ModelCatalog(1, true, List.of(sourceModel, targetModel), List.of(), List.of(modelLink)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubJdbc() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return mock(PreparedStatement.class);
+        });
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            String sql = statements.get(statements.size() - 1);
+            if (sql.startsWith("SELECT id FROM records_" + sanitize(sourceModel.getId()))) {
+                return List.of(sourceRecordId);
+            }
+            if (sql.startsWith("SELECT id FROM records_" + sanitize(targetModel.getId()))) {
+                return targetRecordIds;
+            }
+            return overLimitRecords;
+        });
+        lenient().doAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            return targetRecordIds.size();
+        });
+    }
+
+    private BulkLinkRecordsRequest request() {
+        BulkLinkRecordsRequest request = new BulkLinkRecordsRequest();
+        request.setModelLinkId(modelLink.getId());
+        request.setSourceModelId(sourceModel.getId());
+        request.setSourceRecordId(sourceRecordId);
+        request.setTargetRecordIds(targetRecordIds);
+        return request;
+    }
+
+    private static String sanitize(UUID id) {
+        return id.toString().replace("-", "_");
+    }
+
+    private static Model model(String name) {
+        Model model = new Model();
+        model.setId(UUID.randomUUID());
+        model.setName(name);
+        return model;
+    }
+}
@@ -0,0 +1,87 @@
+package org.ulinda.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.ulinda.entities.Field;
+import org.ulinda.entities.Model;
+import org.ulinda.enums.FieldType;
+import org.ulinda.exceptions.RecordVersionConflictException;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModelServiceUpdateRecordTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID modelId = UUID.randomUUID();
+    private final UUID recordId = UUID.randomUUID();
+    private final Field nameField = new Field();
+    private final Instant expectedUpdatedAt = Instant.parse("2025-03-01T10:15:30.123456Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ModelMetadataCache modelMetadataCache;
+
+    @Mock
+    private UserPermissionCache userPermissionCache;
+
+    @InjectMocks
+    private ModelService modelService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Model model = new Model();
+        model.setId(modelId);
+        model.setName("Employees");
+        nameField.setId(UUID.randomUUID());
+        nameField.setModelId(modelId);
+        nameField.setName("Name");
+        nameField.setType(FieldType.SINGLE_LINE_TEXT);
+        when(modelMetadataCache.getCatalog()).thenReturn(new ModelCatalog(1, true, List.of(model), List.of(nameField), List.of()));
+        when(userPermissionCache.getPermissions(userId)).thenReturn(new UserPermissions(userId, true, Map.of()));
+        // The conditional UPDATE ... RETURNING matches no row
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+    }
+
+    @Test
+    void staleVersionOfExistingRecordIsAConflict() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(recordId))).thenReturn(true);
+
+        assertThatThrownBy(() -> modelService.updateRecord(userId, modelId, recordId, Map.of(nameField.getId(), "Bob"), false, expectedUpdatedAt))
+                .isInstanceOf(RecordVersionConflictException.class);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> parameters = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), parameters.capture());
+        assertThat(sql.getValue()).contains("WHERE id = ? AND updated_at = ? RETURNING");
+        assertThat(parameters.getValue()).containsExactly("Bob", recordId, Timestamp.from(expectedUpdatedAt));
+    }
+
+    @Test
+    void missingRecordIsNotAConflict() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(recordId))).thenReturn(false);
+
+        assertThatThrownBy(() -> modelService.updateRecord(userId, modelId, recordId, Map.of(nameField.getId(), "Bob"), false, expectedUpdatedAt))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Record not found");
+    }
+}
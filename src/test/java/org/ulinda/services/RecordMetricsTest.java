@@ -0,0 +1,43 @@
+package org.ulinda.services;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.ulinda.dto.GetRecordsRequest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID modelId = UUID.randomUUID();
+
+    @Test
+    void recordTimersAreNotTaggedWithTheModel() {
+        RecordMetrics recordMetrics = new RecordMetrics(meterRegistry, false);
+
+        recordMetrics.timeGetRecords(modelId, new GetRecordsRequest(), () -> "page");
+        recordMetrics.time(RecordMetrics.CREATE_RECORD, modelId, () -> "id");
+
+        assertThat(meterRegistry.getMeters())
+                .extracting(meter -> meter.getId().getName())
+                .containsExactlyInAnyOrder(RecordMetrics.GET_RECORDS, RecordMetrics.CREATE_RECORD);
+        assertThat(meterRegistry.getMeters())
+                .allSatisfy(meter -> assertThat(meter.getId().getTag("model")).isNull());
+    }
+
+    @Test
+    void modelTimerOnlyCarriesModelAndOperation() {
+        RecordMetrics recordMetrics = new RecordMetrics(meterRegistry, true);
+
+        recordMetrics.timeGetRecords(modelId, new GetRecordsRequest(), () -> "page");
+
+        Meter modelTimer = meterRegistry.get(RecordMetrics.MODEL_REQUESTS).timer();
+        assertThat(modelTimer.getId().getTags())
+                .extracting(tag -> tag.getKey() + "=" + tag.getValue())
+                .containsExactlyInAnyOrder("model=" + modelId, "operation=get");
+        assertThat(meterRegistry.get(RecordMetrics.GET_RECORDS).timer().getId().getTag("model")).isNull();
+    }
+}
@@ -0,0 +1,129 @@
+package org.ulinda.services;
+
+import org.junit.jupiter.api.Test;
+import org.ulinda.dto.SearchFieldIdentifier;
+import org.ulinda.dto.SearchParameter;
+import org.ulinda.dto.SearchType;
+import org.ulinda.entities.Field;
+import org.ulinda.enums.FieldType;
+import org.ulinda.enums.QueryType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordQueryCompilerTest {
+
+    private static final UUID MODEL_ID = UUID.randomUUID();
+
+    private final Field nameField = field(FieldType.SINGLE_LINE_TEXT);
+    private final Field salaryField = field(FieldType.LONG);
+    private final List<Field> fields = List.of(nameField, salaryField);
+
+    @Test
+    void searchesWithDifferentValuesShareOneTemplate() {
+        List<Object> firstParameters = new ArrayList<>();
+        RecordSearchKey first = RecordQueryCompiler.bindSearchParameter(textSearch(SearchType.TEXT_CONTAINS, "smith"), firstParameters);
+        List<Object> secondParameters = new ArrayList<>();
+        RecordSearchKey second = RecordQueryCompiler.bindSearchParameter(textSearch(SearchType.TEXT_CONTAINS, "jones"), secondParameters);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(firstParameters).containsExactly("%smith%");
+        assertThat(secondParameters).containsExactly("%jones%");
+
+        RecordQueryCache cache = new RecordQueryCache(16);
+        RecordQueryTemplate template = cache.getTemplate(key(first), k -> RecordQueryCompiler.compile(k, fields));
+        assertThat(cache.getTemplate(key(second), k -> RecordQueryCompiler.compile(k, fields))).isSameAs(template);
+        assertThat(cache.getStats().getMisses()).isEqualTo(1);
+        assertThat(template.selectSql()).contains("r.field_" + nameField.getId().toString().replace("-", "_") + " ILIKE ?");
+    }
+
+    @Test
+    void likeWildcardsInSearchValuesAreEscaped() {
+        List<Object> parameters = new ArrayList<>();
+        RecordQueryCompiler.bindSearchParameter(textSearch(SearchType.TEXT_STARTS_WITH, "50%_off\\"), parameters);
+
+        SearchParameter idSearch = new SearchParameter();
+        idSearch.setSearchFieldIdentifier(SearchFieldIdentifier.ID);
+        idSearch.setSearchType(SearchType.TEXT_CONTAINS);
+        idSearch.setTextSearchValue("a_b");
+        RecordQueryCompiler.bindSearchParameter(idSearch, parameters);
+
+        assertThat(parameters).containsExactly("50\\%\\_off\\\\%", "%a\\_b%");
+    }
+
+    @Test
+    void idEqualityComparesUuidsAsUuid() {
+        SearchParameter idSearch = new SearchParameter();
+        idSearch.setSearchFieldIdentifier(SearchFieldIdentifier.ID);
+        idSearch.setSearchType(SearchType.TEXT_EQUALS);
+        idSearch.setTextSearchValue(UUID.randomUUID().toString());
+        RecordSearchKey uuidSearch = RecordQueryCompiler.bindSearchParameter(idSearch, new ArrayList<>());
+        idSearch.setTextSearchValue("not-a-uuid");
+        RecordSearchKey textSearch = RecordQueryCompiler.bindSearchParameter(idSearch, new ArrayList<>());
+
+        assertThat(RecordQueryCompiler.compile(key(uuidSearch), fields).selectSql()).contains("r.id = CAST(? AS UUID)");
+        assertThat(RecordQueryCompiler.compile(key(textSearch), fields).selectSql()).contains("CAST(r.id AS TEXT) = ?");
+    }
+
+    @Test
+    void searchTypeMustFitTheField() {
+        SearchParameter search = new SearchParameter();
+        search.setSearchFieldIdentifier(SearchFieldIdentifier.CUSTOM_FIELD);
+        search.setFieldID(salaryField.getId());
+        search.setSearchType(SearchType.TEXT_CONTAINS);
+        search.setTextSearchValue("100");
+        RecordSearchKey searchKey = RecordQueryCompiler.bindSearchParameter(search, new ArrayList<>());
+
+        assertThatThrownBy(() -> RecordQueryCompiler.compile(key(searchKey), fields))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("TEXT_CONTAINS");
+    }
+
+    @Test
+    void fieldOfAnotherModelIsRejected() {
+        RecordSearchKey searchKey = new RecordSearchKey(SearchFieldIdentifier.CUSTOM_FIELD, UUID.randomUUID(), SearchType.TEXT_CONTAINS, false);
+
+        assertThatThrownBy(() -> RecordQueryCompiler.compile(key(searchKey), fields))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Field not found");
+    }
+
+    @Test
+    void dateSearchWithoutDatesIsLeftOut() {
+        SearchParameter search = new SearchParameter();
+        search.setSearchFieldIdentifier(SearchFieldIdentifier.CUSTOM_FIELD);
+        search.setFieldID(UUID.randomUUID());
+        search.setSearchType(SearchType.DATE_BETWEEN);
+        search.setDateBefore(LocalDate.of(2025, 1, 1));
+        List<Object> parameters = new ArrayList<>();
+
+        assertThat(RecordQueryCompiler.bindSearchParameter(search, parameters)).isNull();
+        assertThat(parameters).isEmpty();
+    }
+
+    private SearchParameter textSearch(SearchType searchType, String value) {
+        SearchParameter search = new SearchParameter();
+        search.setSearchFieldIdentifier(SearchFieldIdentifier.CUSTOM_FIELD);
+        search.setFieldID(nameField.getId());
+        search.setSearchType(searchType);
+        search.setTextSearchValue(value);
+        return search;
+    }
+
+    private static RecordQueryKey key(RecordSearchKey search) {
+        return new RecordQueryKey(1L, QueryType.ALL_RECORDS, MODEL_ID, null, 0, "created_at", "ASC", false, List.of(search));
+    }
+
+    private static Field field(FieldType type) {
+        Field field = new Field();
+        field.setId(UUID.randomUUID());
+        field.setName(type.name());
+        field.setType(type);
+        return field;
+    }
+}
@@ -0,0 +1,74 @@
+package org.ulinda.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ulinda.entities.User;
+import org.ulinda.entities.UserModelPermission;
+import org.ulinda.enums.ModelPermission;
+import org.ulinda.repositories.UserModelPermissionRepository;
+import org.ulinda.repositories.UserRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPermissionCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID modelId = UUID.randomUUID();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserModelPermissionRepository userModelPermissionRepository;
+
+    @InjectMocks
+    private UserPermissionCache userPermissionCache;
+
+    @Test
+    void permissionsAreCachedUntilInvalidated() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+        when(userModelPermissionRepository.findByUserId(userId))
+                .thenReturn(List.of(permission(ModelPermission.VIEW_RECORDS)))
+                .thenReturn(List.of(permission(ModelPermission.VIEW_RECORDS), permission(ModelPermission.EDIT_RECORDS)));
+
+        assertThat(userPermissionCache.getPermissions(userId).hasPermission(modelId, ModelPermission.EDIT_RECORDS)).isFalse();
+        assertThat(userPermissionCache.getPermissions(userId).hasPermission(modelId, ModelPermission.VIEW_RECORDS)).isTrue();
+        verify(userModelPermissionRepository, times(1)).findByUserId(userId);
+
+        long version = userPermissionCache.getVersion();
+        userPermissionCache.invalidate(userId);
+
+        assertThat(userPermissionCache.getVersion()).isGreaterThan(version);
+        assertThat(userPermissionCache.getPermissions(userId).hasPermission(modelId, ModelPermission.EDIT_RECORDS)).isTrue();
+        verify(userModelPermissionRepository, times(2)).findByUserId(userId);
+    }
+
+    @Test
+    void adminHasEveryPermission() {
+        User admin = new User();
+        admin.setAdminUser(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(admin));
+        when(userModelPermissionRepository.findByUserId(userId)).thenReturn(List.of());
+
+        UserPermissions permissions = userPermissionCache.getPermissions(userId);
+
+        assertThat(permissions.hasPermission(modelId, ModelPermission.DELETE_RECORDS)).isTrue();
+    }
+
+    private UserModelPermission permission(ModelPermission modelPermission) {
+        UserModelPermission permission = new UserModelPermission();
+        permission.setUserId(userId);
+        permission.setModelId(modelId);
+        permission.setPermission(modelPermission);
+        return permission;
+    }
+}
@@ -0,0 +1,42 @@
+package org.ulinda.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a"); // b is now the least recently used
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removeIfDropsMatchingEntries() {
+        LruCache<String, Integer> cache = new LruCache<>(10);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        cache.removeIf((key, value) -> value % 2 == 1);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo(2);
+        assertThat(cache.get("c")).isNull();
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThatThrownBy(() -> new LruCache<String, Integer>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
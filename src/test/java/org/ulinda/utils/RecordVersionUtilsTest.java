@@ -0,0 +1,40 @@
+package org.ulinda.utils;
+
+import org.junit.jupiter.api.Test;
+import org.ulinda.exceptions.ErrorCode;
+import org.ulinda.exceptions.FrontendException;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordVersionUtilsTest {
+
+    private final Instant updatedAt = Instant.parse("2025-03-01T10:15:30.123456Z");
+
+    @Test
+    void eTagIsWeakAndRoundTrips() {
+        String eTag = RecordVersionUtils.toETag(updatedAt);
+
+        assertThat(eTag).isEqualTo("W/\"1740824130123456\"");
+        assertThat(RecordVersionUtils.parseIfMatch(eTag)).isEqualTo(updatedAt);
+        assertThat(RecordVersionUtils.parseIfMatch("\"1740824130123456\"")).isEqualTo(updatedAt);
+    }
+
+    @Test
+    void missingOrWildcardIfMatchIsNoCondition() {
+        assertThat(RecordVersionUtils.parseIfMatch(null)).isNull();
+        assertThat(RecordVersionUtils.parseIfMatch(" ")).isNull();
+        assertThat(RecordVersionUtils.parseIfMatch("*")).isNull();
+    }
+
+    @Test
+    void malformedIfMatchIsRejected() {
+        assertThatThrownBy(() -> RecordVersionUtils.parseIfMatch("W/\"abc\""))
+                .isInstanceOf(FrontendException.class)
+                .extracting(e -> ((FrontendException) e).getErrorCode())
+                .isEqualTo(ErrorCode.VALIDATION_EXCEPTION);
+        assertThatThrownBy(() -> RecordVersionUtils.parseIfMatch("1740824130123456")).isInstanceOf(FrontendException.class);
+    }
+}